@@ -0,0 +1,170 @@
+package utopia.inception.event;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * CachedEventSelector remembers the results of another selector for the feature combinations 
+ * it has recently seen, so that a repeated combination only requires a single lookup. The 
+ * feature set of a {@link FeatureSetEvent} is used as it is, but for other events it has to 
+ * be built first, which requires a registry lookup for each of the event's features. The 
+ * least recently used results are forgotten once the cache is full. The cached selector must 
+ * select events based on their features alone, like strict and multi selectors do. If the 
+ * cached selector is modified, the cache should be cleared.
+ *
+ * @since 18.10.2026
+ */
+public class CachedEventSelector implements EventSelector
+{
+	// ATTRIBUTES	------------------------------
+	
+	private final EventSelector selector;
+	private final Map<FeatureSet, Boolean> results;
+	private final ReentrantLock lock;
+	private long hitAmount, missAmount;
+	// Results tested before the cache was cleared aren't stored
+	private long generation;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new cache for the selector's results
+	 * @param selector The selector whose results are cached
+	 * @param capacity How many feature combinations can be cached at once
+	 * @throws IllegalArgumentException If the selector is null or the capacity is smaller 
+	 * than 1
+	 */
+	public CachedEventSelector(EventSelector selector, final int capacity) throws 
+			IllegalArgumentException
+	{
+		if (selector == null)
+			throw new IllegalArgumentException("Cached selector must be provided");
+		if (capacity < 1)
+			throw new IllegalArgumentException("Cache capacity must be positive");
+		
+		// Initializes attributes
+		this.selector = selector;
+		this.results = new LinkedHashMap<FeatureSet, Boolean>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<FeatureSet, Boolean> eldest)
+			{
+				return size() > capacity;
+			}
+		};
+		this.lock = new ReentrantLock();
+		this.hitAmount = 0;
+		this.missAmount = 0;
+		this.generation = 0;
+	}
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	@Override
+	public boolean selects(Event event)
+	{
+		FeatureSet features = FeatureSet.of(event);
+		long generation;
+		
+		this.lock.lock();
+		try
+		{
+			Boolean result = this.results.get(features);
+			if (result != null)
+			{
+				this.hitAmount ++;
+				return result;
+			}
+			this.missAmount ++;
+			generation = this.generation;
+		}
+		finally { this.lock.unlock(); }
+		
+		// The selector is tested outside the lock
+		boolean result = this.selector.selects(event);
+		
+		// The result may be outdated if the cache was cleared during the test
+		this.lock.lock();
+		try
+		{
+			if (generation == this.generation)
+				this.results.put(features, result);
+		}
+		finally { this.lock.unlock(); }
+		
+		return result;
+	}
+	
+	
+	// ACCESSORS	---------------------------------
+	
+	/**
+	 * @return The selector whose results are cached
+	 */
+	public EventSelector getSelector()
+	{
+		return this.selector;
+	}
+	
+	/**
+	 * @return How many times a result was found from the cache
+	 */
+	public long getHitAmount()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.hitAmount;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	/**
+	 * @return How many times the result had to be tested with the cached selector
+	 */
+	public long getMissAmount()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.missAmount;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * @return How many feature combinations are currently cached
+	 */
+	public int getCachedAmount()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.results.size();
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	/**
+	 * Forgets all the cached results. This should be called when the cached selector is 
+	 * modified. Results that are being tested while the cache is cleared won't be cached.
+	 */
+	public void clearCache()
+	{
+		this.lock.lock();
+		try
+		{
+			this.generation ++;
+			this.results.clear();
+		}
+		finally { this.lock.unlock(); }
+	}
+}
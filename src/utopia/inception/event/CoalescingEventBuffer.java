@@ -0,0 +1,190 @@
+package utopia.inception.event;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * CoalescingEventBuffer collects events that only matter in their latest form, so that only 
+ * one event per key is delivered each time the buffer is emptied. The events are keyed by 
+ * the subset of the key features they have. A later event replaces the earlier event with 
+ * the same key, or the two are merged into a single event. The coalesced events are 
+ * delivered after the other events, which are stored in another buffer. Events that don't 
+ * have any of the key features aren't coalesced, but go to the other buffer as they are. 
+ * Pooled events that are replaced or merged are released.
+ *
+ * @since 18.10.2026
+ */
+public class CoalescingEventBuffer implements EventBuffer
+{
+	// ATTRIBUTES	------------------------------
+	
+	private final EventBuffer buffer;
+	private final EventSelector coalescedEvents;
+	private final FeatureSet keyFeatures;
+	private final EventMerger merger;
+	private final int maxKeyAmount;
+	
+	private final Map<FeatureSet, Event> pendingEvents;
+	private final ReentrantLock lock;
+	private long coalescedAmount;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new buffer where the latest event replaces the earlier events with the same 
+	 * key
+	 * @param buffer The buffer that holds the events that aren't coalesced
+	 * @param coalescedEvents The selector that defines which events are coalesced
+	 * @param keyFeatures The features that define which events are coalesced together. 
+	 * Events are coalesced if they share the same subset of these features.
+	 * @param maxKeyAmount How many different keys can be waiting for delivery at once. When 
+	 * there are more keys, the new events are added to the other buffer as they are.
+	 * @throws IllegalArgumentException If any of the parameters is null or the maximum key 
+	 * amount is smaller than 1
+	 */
+	public CoalescingEventBuffer(EventBuffer buffer, EventSelector coalescedEvents, 
+			FeatureSet keyFeatures, int maxKeyAmount) throws IllegalArgumentException
+	{
+		this(buffer, coalescedEvents, keyFeatures, maxKeyAmount, null);
+	}
+	
+	/**
+	 * Creates a new buffer where the events with the same key are merged together
+	 * @param buffer The buffer that holds the events that aren't coalesced
+	 * @param coalescedEvents The selector that defines which events are coalesced
+	 * @param keyFeatures The features that define which events are coalesced together. 
+	 * Events are coalesced if they share the same subset of these features.
+	 * @param maxKeyAmount How many different keys can be waiting for delivery at once. When 
+	 * there are more keys, the new events are added to the other buffer as they are.
+	 * @param merger The merger that combines the events with the same key. Null if only the 
+	 * latest event should be kept.
+	 * @throws IllegalArgumentException If the buffer, selector or key features are null or 
+	 * the maximum key amount is smaller than 1
+	 */
+	public CoalescingEventBuffer(EventBuffer buffer, EventSelector coalescedEvents, 
+			FeatureSet keyFeatures, int maxKeyAmount, EventMerger merger) throws
+			IllegalArgumentException
+	{
+		if (buffer == null || coalescedEvents == null || keyFeatures == null)
+			throw new IllegalArgumentException("Buffer, selector and key features must be provided");
+		if (maxKeyAmount < 1)
+			throw new IllegalArgumentException("Maximum key amount must be positive");
+		
+		// Initializes attributes
+		this.buffer = buffer;
+		this.coalescedEvents = coalescedEvents;
+		this.keyFeatures = keyFeatures;
+		this.merger = merger;
+		this.maxKeyAmount = maxKeyAmount;
+		
+		this.pendingEvents = new LinkedHashMap<>();
+		this.lock = new ReentrantLock();
+		this.coalescedAmount = 0;
+	}
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	@Override
+	public boolean offer(Event event)
+	{
+		if (event == null)
+			return false;
+		if (!this.coalescedEvents.selects(event))
+			return this.buffer.offer(event);
+		
+		// Events without a key have nothing to be coalesced by
+		FeatureSet key = FeatureSet.of(event).intersection(this.keyFeatures);
+		if (key.isEmpty())
+			return this.buffer.offer(event);
+		
+		this.lock.lock();
+		try
+		{
+			Event previous = this.pendingEvents.get(key);
+			if (previous != null)
+			{
+				// The key keeps its original place in the delivery order
+				Event coalesced = this.merger == null ? event : 
+						this.merger.merge(previous, event);
+				this.pendingEvents.put(key, coalesced);
+				this.coalescedAmount ++;
+				
+				// Pooled events that are no longer delivered are released
+				if (coalesced != previous)
+					PooledEvent.releaseIfPooled(previous);
+				if (coalesced != event)
+					PooledEvent.releaseIfPooled(event);
+				
+				return true;
+			}
+			else if (this.pendingEvents.size() < this.maxKeyAmount)
+			{
+				this.pendingEvents.put(key, event);
+				return true;
+			}
+		}
+		finally { this.lock.unlock(); }
+		
+		return this.buffer.offer(event);
+	}
+	
+	/**
+	 * Moves events to the provided list. The coalesced events are delivered once the other 
+	 * events have been delivered.
+	 */
+	@Override
+	public int drainTo(List<? super Event> target, int maxAmount)
+	{
+		int drained = this.buffer.drainTo(target, maxAmount);
+		if (drained >= maxAmount)
+			return drained;
+		
+		this.lock.lock();
+		try
+		{
+			Iterator<Event> iterator = this.pendingEvents.values().iterator();
+			while (drained < maxAmount && iterator.hasNext())
+			{
+				target.add(iterator.next());
+				iterator.remove();
+				drained ++;
+			}
+			
+			return drained;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	@Override
+	public int size()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.buffer.size() + this.pendingEvents.size();
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	@Override
+	public long getDroppedAmount()
+	{
+		return this.buffer.getDroppedAmount();
+	}
+	
+	@Override
+	public long getCoalescedAmount()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.buffer.getCoalescedAmount() + this.coalescedAmount;
+		}
+		finally { this.lock.unlock(); }
+	}
+}
@@ -0,0 +1,194 @@
+package utopia.inception.event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * CompiledEventSelector is a flattened form of a set of selection options. The options are 
+ * represented as terms of required and unacceptable features, which are tested against the 
+ * event's feature set. The features that all the terms require or refuse are tested only 
+ * once, and terms that would never select anything the other terms don't are dropped. 
+ * Selectors other than StrictEventSelectors and MultiEventSelectors are kept as they are. 
+ * The compiled selector is immutable.
+ *
+ * @since 18.10.2026
+ * @see MultiEventSelector#compile()
+ */
+public class CompiledEventSelector implements EventSelector
+{
+	// ATTRIBUTES	------------------------------
+	
+	private FeatureSet commonRequiredFeatures, commonUnacceptableFeatures;
+	private FeatureSet[] requiredFeatures, unacceptableFeatures;
+	private EventSelector[] otherSelectors;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new selector that selects an event if any of the options would select it
+	 * @param options The selectors that work as options for selection
+	 */
+	public CompiledEventSelector(Collection<? extends EventSelector> options)
+	{
+		List<Term> terms = new ArrayList<>();
+		List<EventSelector> otherSelectors = new ArrayList<>();
+		for (EventSelector option : options)
+		{
+			flatten(option, terms, otherSelectors);
+		}
+		
+		// The most general terms are tested first. More specific terms that are covered by 
+		// them are dropped.
+		Collections.sort(terms, new TermComparator());
+		List<Term> necessaryTerms = new ArrayList<>();
+		for (Term term : terms)
+		{
+			if (!isCovered(term, necessaryTerms))
+				necessaryTerms.add(term);
+		}
+		
+		// Initializes attributes
+		int termAmount = necessaryTerms.size();
+		this.requiredFeatures = new FeatureSet[termAmount];
+		this.unacceptableFeatures = new FeatureSet[termAmount];
+		this.commonRequiredFeatures = termAmount == 0 ? FeatureSet.EMPTY : 
+				necessaryTerms.get(0).requiredFeatures;
+		this.commonUnacceptableFeatures = termAmount == 0 ? FeatureSet.EMPTY : 
+				necessaryTerms.get(0).unacceptableFeatures;
+		
+		for (int i = 0; i < termAmount; i++)
+		{
+			Term term = necessaryTerms.get(i);
+			this.requiredFeatures[i] = term.requiredFeatures;
+			this.unacceptableFeatures[i] = term.unacceptableFeatures;
+			this.commonRequiredFeatures = this.commonRequiredFeatures.intersection(
+					term.requiredFeatures);
+			this.commonUnacceptableFeatures = this.commonUnacceptableFeatures.intersection(
+					term.unacceptableFeatures);
+		}
+		
+		this.otherSelectors = otherSelectors.toArray(new EventSelector[otherSelectors.size()]);
+	}
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	@Override
+	public boolean selects(Event event)
+	{
+		if (this.requiredFeatures.length > 0)
+		{
+			FeatureSet features = FeatureSet.of(event);
+			
+			// The common features decide the result for all of the terms at once
+			if (features.containsAll(this.commonRequiredFeatures) && 
+					!features.intersects(this.commonUnacceptableFeatures))
+			{
+				for (int i = 0; i < this.requiredFeatures.length; i++)
+				{
+					if (features.containsAll(this.requiredFeatures[i]) && 
+							!features.intersects(this.unacceptableFeatures[i]))
+						return true;
+				}
+			}
+		}
+		
+		for (EventSelector selector : this.otherSelectors)
+		{
+			if (selector.selects(event))
+				return true;
+		}
+		
+		return false;
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * @return The amount of feature terms the options were compiled into
+	 */
+	public int getTermAmount()
+	{
+		return this.requiredFeatures.length;
+	}
+	
+	private static void flatten(EventSelector selector, List<Term> terms, 
+			List<EventSelector> otherSelectors)
+	{
+		if (selector instanceof StrictEventSelector)
+		{
+			StrictEventSelector strict = (StrictEventSelector) selector;
+			terms.add(new Term(strict.getRequiredFeatureSet(), 
+					strict.getUnacceptableFeatureSet()));
+		}
+		else if (selector instanceof MultiEventSelector)
+		{
+			for (EventSelector option : ((MultiEventSelector) selector).getOptions())
+			{
+				flatten(option, terms, otherSelectors);
+			}
+		}
+		else if (selector instanceof CompiledEventSelector)
+		{
+			CompiledEventSelector compiled = (CompiledEventSelector) selector;
+			for (int i = 0; i < compiled.requiredFeatures.length; i++)
+			{
+				terms.add(new Term(compiled.requiredFeatures[i], 
+						compiled.unacceptableFeatures[i]));
+			}
+			for (EventSelector other : compiled.otherSelectors)
+			{
+				otherSelectors.add(other);
+			}
+		}
+		else if (selector != null && !otherSelectors.contains(selector))
+			otherSelectors.add(selector);
+	}
+	
+	private static boolean isCovered(Term term, List<Term> terms)
+	{
+		// A term is covered by another term that has a subset of its requirements
+		for (Term other : terms)
+		{
+			if (term.requiredFeatures.containsAll(other.requiredFeatures) && 
+					term.unacceptableFeatures.containsAll(other.unacceptableFeatures))
+				return true;
+		}
+		
+		return false;
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class Term
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private FeatureSet requiredFeatures, unacceptableFeatures;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public Term(FeatureSet requiredFeatures, FeatureSet unacceptableFeatures)
+		{
+			this.requiredFeatures = requiredFeatures;
+			this.unacceptableFeatures = unacceptableFeatures;
+		}
+	}
+	
+	private static class TermComparator implements Comparator<Term>
+	{
+		@Override
+		public int compare(Term o1, Term o2)
+		{
+			return Integer.compare(o1.requiredFeatures.size() + o1.unacceptableFeatures.size(), 
+					o2.requiredFeatures.size() + o2.unacceptableFeatures.size());
+		}
+	}
+}
@@ -0,0 +1,333 @@
+package utopia.inception.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import utopia.inception.state.StateOperator;
+import utopia.inception.util.SimpleHandled;
+
+/**
+ * EventAggregator counts the events of different groups over time windows. Each group is 
+ * defined by an eventSelector. The time is divided into buckets of equal length, and the 
+ * window of an aggregator consists of a fixed amount of buckets. The sliding count of a group 
+ * contains the events of the latest window's length, while the tumbling count contains the 
+ * events of the latest complete window. Each group only stores the counts of its buckets, so 
+ * the memory used by a group doesn't grow over time.<br> 
+ * The counts can be followed with threshold triggers, which are stateOperators that have a 
+ * true state while a count is at or above a threshold. The counts and triggers are updated 
+ * when events are received and when {@link #update()} is called. The aggregator is not 
+ * synchronized, so it should be used from the thread that handles its eventListenerHandler.
+ *
+ * @since 18.10.2026
+ */
+public class EventAggregator extends SimpleHandled implements EventListener
+{
+	// ATTRIBUTES	------------------------------
+	
+	private final long bucketDuration;
+	private final int bucketAmount;
+	private final MultiEventSelector selector;
+	private final List<Group> groups;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new aggregator without any groups
+	 * @param bucketDurationNanos How long a time a single bucket covers in nanoseconds
+	 * @param bucketAmount How many buckets a window consists of
+	 * @throws IllegalArgumentException If the duration or the bucket amount is smaller 
+	 * than 1
+	 */
+	public EventAggregator(long bucketDurationNanos, int bucketAmount) throws 
+			IllegalArgumentException
+	{
+		if (bucketDurationNanos < 1)
+			throw new IllegalArgumentException("Bucket duration must be positive");
+		if (bucketAmount < 1)
+			throw new IllegalArgumentException("Bucket amount must be positive");
+		
+		// Initializes attributes
+		this.bucketDuration = bucketDurationNanos;
+		this.bucketAmount = bucketAmount;
+		this.selector = new MultiEventSelector();
+		this.groups = new ArrayList<>();
+	}
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	@Override
+	public EventSelector getEventSelector()
+	{
+		return this.selector;
+	}
+	
+	@Override
+	public void onEvent(Event event)
+	{
+		long bucket = getCurrentBucket();
+		for (int i = 0; i < this.groups.size(); i++)
+		{
+			Group group = this.groups.get(i);
+			group.advance(bucket);
+			if (group.selector.selects(event))
+				group.increment();
+			group.updateTriggers();
+		}
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Adds a new group to be counted
+	 * @param selector The selector that defines which events belong to the group
+	 * @return The group that counts the events
+	 * @throws IllegalArgumentException If the selector is null
+	 */
+	public Group addGroup(EventSelector selector) throws IllegalArgumentException
+	{
+		if (selector == null)
+			throw new IllegalArgumentException("Group selector must be provided");
+		
+		Group group = new Group(selector);
+		this.groups.add(group);
+		this.selector.addOption(selector);
+		
+		return group;
+	}
+	
+	/**
+	 * Moves the windows to the current time, updating the counts and the triggers of all 
+	 * the groups. This should be called regularly, since the counts may decrease without 
+	 * any events.
+	 */
+	public void update()
+	{
+		long bucket = getCurrentBucket();
+		for (int i = 0; i < this.groups.size(); i++)
+		{
+			Group group = this.groups.get(i);
+			group.advance(bucket);
+			group.updateTriggers();
+		}
+	}
+	
+	/**
+	 * @return The current time in nanoseconds. By default this is {@link System#nanoTime()}, 
+	 * but subclasses may use another time source.
+	 */
+	protected long getCurrentTime()
+	{
+		return System.nanoTime();
+	}
+	
+	private long getCurrentBucket()
+	{
+		return floorDiv(getCurrentTime(), this.bucketDuration);
+	}
+	
+	// The times may be negative, so the divisions are rounded down instead of towards zero
+	private static long floorDiv(long dividend, long divisor)
+	{
+		long quotient = dividend / divisor;
+		if (dividend % divisor != 0 && (dividend ^ divisor) < 0)
+			quotient --;
+		return quotient;
+	}
+	
+	private static int floorMod(long dividend, int divisor)
+	{
+		return (int) (dividend - floorDiv(dividend, divisor) * divisor);
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	/**
+	 * Group counts the events selected by a single selector
+	 *
+	 * @since 18.10.2026
+	 */
+	public class Group
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final EventSelector selector;
+		private final long[] buckets;
+		private long currentBucket, slidingCount, windowCount, lastWindowCount, totalCount;
+		private final List<ThresholdTrigger> triggers;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		private Group(EventSelector selector)
+		{
+			this.selector = selector;
+			this.buckets = new long[EventAggregator.this.bucketAmount];
+			this.currentBucket = getCurrentBucket();
+			this.slidingCount = 0;
+			this.windowCount = 0;
+			this.lastWindowCount = 0;
+			this.totalCount = 0;
+			this.triggers = new ArrayList<>();
+		}
+		
+		
+		// ACCESSORS	-----------------------------
+		
+		/**
+		 * @return The selector that defines which events belong to this group
+		 */
+		public EventSelector getSelector()
+		{
+			return this.selector;
+		}
+		
+		/**
+		 * @return How many events have been counted in this group in total
+		 */
+		public long getTotalCount()
+		{
+			return this.totalCount;
+		}
+		
+		
+		// OTHER METHODS	-------------------------
+		
+		/**
+		 * @return How many events belong to this group within the latest window's length, 
+		 * including the current bucket
+		 */
+		public long getSlidingCount()
+		{
+			advance(getCurrentBucket());
+			return this.slidingCount;
+		}
+		
+		/**
+		 * @return How many events belonged to this group during the latest complete window
+		 */
+		public long getTumblingCount()
+		{
+			advance(getCurrentBucket());
+			return this.lastWindowCount;
+		}
+		
+		/**
+		 * Creates a new trigger that follows one of this group's counts
+		 * @param threshold The count at which the trigger's state becomes true
+		 * @param sliding Does the trigger follow the sliding count (true) or the tumbling 
+		 * count (false)
+		 * @return A stateOperator that has a true state while the count is at or above the 
+		 * threshold. The operator can't be changed from the outside.
+		 */
+		public StateOperator createThresholdTrigger(long threshold, boolean sliding)
+		{
+			ThresholdTrigger trigger = new ThresholdTrigger(threshold, sliding);
+			trigger.update(sliding ? getSlidingCount() : getTumblingCount());
+			this.triggers.add(trigger);
+			
+			return trigger;
+		}
+		
+		private void increment()
+		{
+			this.buckets[floorMod(this.currentBucket, this.buckets.length)] ++;
+			this.slidingCount ++;
+			this.windowCount ++;
+			this.totalCount ++;
+		}
+		
+		private void advance(long bucket)
+		{
+			if (bucket <= this.currentBucket)
+				return;
+			
+			// The buckets that fell out of the window are emptied
+			int length = this.buckets.length;
+			if (bucket - this.currentBucket >= length)
+			{
+				for (int i = 0; i < length; i++)
+				{
+					this.buckets[i] = 0;
+				}
+				this.slidingCount = 0;
+			}
+			else
+			{
+				for (long i = this.currentBucket + 1; i <= bucket; i++)
+				{
+					int index = floorMod(i, length);
+					this.slidingCount -= this.buckets[index];
+					this.buckets[index] = 0;
+				}
+			}
+			
+			// The tumbling windows change every time the bucket amount is filled
+			long window = floorDiv(this.currentBucket, length);
+			long newWindow = floorDiv(bucket, length);
+			if (newWindow != window)
+			{
+				this.lastWindowCount = newWindow == window + 1 ? this.windowCount : 0;
+				this.windowCount = 0;
+			}
+			
+			this.currentBucket = bucket;
+		}
+		
+		private void updateTriggers()
+		{
+			for (int i = 0; i < this.triggers.size(); i++)
+			{
+				ThresholdTrigger trigger = this.triggers.get(i);
+				trigger.update(trigger.sliding ? this.slidingCount : this.lastWindowCount);
+			}
+		}
+	}
+	
+	private static class ThresholdTrigger extends StateOperator
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final long threshold;
+		private final boolean sliding;
+		private boolean state;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public ThresholdTrigger(long threshold, boolean sliding)
+		{
+			super(false, false);
+			
+			this.threshold = threshold;
+			this.sliding = sliding;
+			this.state = false;
+		}
+		
+		
+		// IMPLEMENTED METHODS	---------------------
+		
+		@Override
+		public boolean getState()
+		{
+			return this.state;
+		}
+		
+		
+		// OTHER METHODS	-------------------------
+		
+		private void update(long count)
+		{
+			boolean newState = count >= this.threshold;
+			if (newState != this.state)
+			{
+				informListeners(newState);
+				this.state = newState;
+				propagateStateChange();
+			}
+		}
+	}
+}
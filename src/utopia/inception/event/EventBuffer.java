@@ -0,0 +1,47 @@
+package utopia.inception.event;
+
+import java.util.List;
+
+/**
+ * EventBuffers hold the events that are waiting for delivery. Events can be added from any 
+ * thread, while they are usually removed from a single thread. Buffers are bounded, so they 
+ * may drop events when they are added faster than they are removed.
+ *
+ * @since 18.10.2026
+ * @see EventListenerHandler
+ */
+public interface EventBuffer
+{
+	/**
+	 * Adds a new event to the buffer
+	 * @param event The event that is added
+	 * @return Was the event added to the buffer. False if the event was dropped, in which 
+	 * case the caller is responsible for the event.
+	 */
+	public boolean offer(Event event);
+	
+	/**
+	 * Moves events from the buffer to the provided list in the order they should be 
+	 * delivered
+	 * @param target The list the events are added to
+	 * @param maxAmount How many events can be moved at most
+	 * @return How many events were moved
+	 */
+	public int drainTo(List<? super Event> target, int maxAmount);
+	
+	/**
+	 * @return How many events are currently in the buffer
+	 */
+	public int size();
+	
+	/**
+	 * @return How many events have been dropped because the buffer was full
+	 */
+	public long getDroppedAmount();
+	
+	/**
+	 * @return How many events have been replaced with newer events because the buffer was 
+	 * full
+	 */
+	public long getCoalescedAmount();
+}
@@ -0,0 +1,48 @@
+package utopia.inception.event;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import utopia.inception.event.Event.Feature;
+
+/**
+ * EventCodecs define how events are stored in an event journal. The journal stores the 
+ * features itself, but it needs the codec to identify them. Any other data the events carry 
+ * is stored as a payload written by the codec.
+ *
+ * @since 18.10.2026
+ * @see EventJournalWriter
+ * @see EventJournalReader
+ */
+public interface EventCodec
+{
+	/**
+	 * @param feature A feature
+	 * @return A name that identifies the feature between program runs
+	 */
+	public String encodeFeature(Feature feature);
+	
+	/**
+	 * @param name A name previously created by {@link #encodeFeature(Feature)}
+	 * @return The feature with the given name
+	 */
+	public Feature decodeFeature(String name);
+	
+	/**
+	 * Writes the event's other data than the features. The buffer has a limited amount of 
+	 * space, and writing past it causes a BufferOverflowException.
+	 * @param event The event that is written
+	 * @param target The buffer the data is written to
+	 */
+	public void encodePayload(Event event, ByteBuffer target);
+	
+	/**
+	 * Creates an event from the stored data
+	 * @param features The features of the event. The list is reused for the next event, so 
+	 * it must not be stored as it is.
+	 * @param payload The data written by {@link #encodePayload(Event, ByteBuffer)}. The 
+	 * buffer refers directly to the journal, so it shouldn't be stored either.
+	 * @return An event with the given features and data
+	 */
+	public Event decodeEvent(List<Feature> features, ByteBuffer payload);
+}
@@ -0,0 +1,207 @@
+package utopia.inception.event;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import utopia.inception.event.Event.Feature;
+
+/**
+ * EventJournalReader reads the events from a journal written by an eventJournalWriter. The 
+ * file is read through memory mapped regions and the events' payloads are provided to the 
+ * codec as views to the mapped file, so the data isn't copied in between. A journal that 
+ * is cut off in the middle of a record or that is otherwise corrupted causes an IOException. 
+ * The reading stops at the journal length recorded in the header, or if the journal wasn't 
+ * closed properly, at the end of the last complete record.
+ *
+ * @since 18.10.2026
+ * @see EventJournalWriter
+ */
+public class EventJournalReader implements Closeable
+{
+	// ATTRIBUTES	------------------------------
+	
+	private final RandomAccessFile file;
+	private final FileChannel channel;
+	private final EventCodec codec;
+	private long size;
+	
+	private MappedByteBuffer region;
+	private long regionStart;
+	private final List<Feature> features, eventFeatures;
+	private long lastEventTime;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Opens a journal for reading
+	 * @param file The journal file
+	 * @param codec The codec that was used when the journal was written
+	 * @throws IOException If the file couldn't be read or if it isn't an event journal
+	 */
+	public EventJournalReader(File file, EventCodec codec) throws IOException
+	{
+		// Initializes attributes
+		this.file = new RandomAccessFile(file, "r");
+		this.channel = this.file.getChannel();
+		this.codec = codec;
+		this.size = this.channel.size();
+		this.features = new ArrayList<>();
+		this.eventFeatures = new ArrayList<>(EventJournalWriter.MAX_FEATURE_AMOUNT);
+		this.lastEventTime = 0;
+		
+		this.regionStart = 0;
+		this.region = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, 
+				Math.min(this.size, EventJournalWriter.REGION_SIZE));
+		
+		if (this.size < EventJournalWriter.HEADER_SIZE || 
+				this.region.getInt() != EventJournalWriter.MAGIC)
+		{
+			close();
+			throw new IOException(file + " is not an event journal");
+		}
+		int version = this.region.getInt();
+		if (version != EventJournalWriter.VERSION)
+		{
+			close();
+			throw new IOException("Unsupported journal version " + version);
+		}
+		
+		// The rest of the file is ignored. A file shorter than the recorded length has 
+		// been cut off, which is noticed once the cut record is read.
+		long length = this.region.getLong();
+		if (length > 0 && length < this.size)
+		{
+			this.size = length;
+			this.region.limit((int) Math.min(length, this.region.limit()));
+		}
+	}
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	@Override
+	public void close() throws IOException
+	{
+		this.region = null;
+		this.file.close();
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Reads the next event from the journal
+	 * @return The next event in the journal. Null if there are no more events.
+	 * @throws IOException If the journal couldn't be read or if it is corrupted
+	 */
+	public Event readNext() throws IOException
+	{
+		while (true)
+		{
+			ensureAvailable();
+			if (!this.region.hasRemaining())
+				return null;
+			
+			byte type = this.region.get();
+			if (type == EventJournalWriter.FEATURE_RECORD)
+				readFeature();
+			else if (type == EventJournalWriter.EVENT_RECORD)
+				return readEvent();
+			// A journal that wasn't closed properly ends with empty space
+			else if (type == 0)
+				return null;
+			else
+				throw new IOException("Unknown record type " + type + " at " + 
+						(this.regionStart + this.region.position() - 1));
+		}
+	}
+	
+	/**
+	 * @return The time of the event that was read last, in nanoseconds
+	 */
+	public long getLastEventTime()
+	{
+		return this.lastEventTime;
+	}
+	
+	private void readFeature() throws IOException
+	{
+		requireRemaining(4);
+		int id = this.region.getShort() & 0xFFFF;
+		byte[] name = new byte[this.region.getShort() & 0xFFFF];
+		requireRemaining(name.length);
+		this.region.get(name);
+		
+		if (id != this.features.size())
+			throw new IOException("Feature " + id + " is defined out of order");
+		this.features.add(this.codec.decodeFeature(new String(name, StandardCharsets.UTF_8)));
+	}
+	
+	private Event readEvent() throws IOException
+	{
+		requireRemaining(8 + 1);
+		this.lastEventTime = this.region.getLong();
+		
+		int featureAmount = this.region.get() & 0xFF;
+		requireRemaining(2 * featureAmount + 4);
+		this.eventFeatures.clear();
+		for (int i = 0; i < featureAmount; i++)
+		{
+			int id = this.region.getShort() & 0xFFFF;
+			if (id >= this.features.size())
+				throw new IOException("Feature " + id + " is used before it is defined");
+			this.eventFeatures.add(this.features.get(id));
+		}
+		
+		// The payload is a view to the mapped region
+		int payloadLength = this.region.getInt();
+		if (payloadLength < 0 || payloadLength > EventJournalWriter.MAX_PAYLOAD_SIZE)
+			throw new IOException("Invalid payload length " + payloadLength + " at " + 
+					(this.regionStart + this.region.position() - 4));
+		requireRemaining(payloadLength);
+		ByteBuffer payload = this.region.slice();
+		payload.limit(payloadLength);
+		this.region.position(this.region.position() + payloadLength);
+		
+		// The codec may read past a corrupted payload
+		try
+		{
+			return this.codec.decodeEvent(this.eventFeatures, payload);
+		}
+		catch (BufferUnderflowException e)
+		{
+			throw new IOException("The payload of the event at " + this.lastEventTime + 
+					" ns is corrupted", e);
+		}
+	}
+	
+	private void requireRemaining(int bytes) throws IOException
+	{
+		if (this.region.remaining() < bytes)
+			throw new IOException("The journal ends in the middle of a record at " + 
+					(this.regionStart + this.region.position()));
+	}
+	
+	private void ensureAvailable() throws IOException
+	{
+		// A new region is mapped before a record could cross the end of the current one
+		long position = this.regionStart + this.region.position();
+		if (this.region.remaining() < EventJournalWriter.MAX_RECORD_SIZE && 
+				this.regionStart + this.region.limit() < this.size)
+		{
+			this.regionStart = position;
+			this.region = this.channel.map(FileChannel.MapMode.READ_ONLY, position, 
+					Math.min(this.size - position, EventJournalWriter.REGION_SIZE));
+		}
+	}
+}
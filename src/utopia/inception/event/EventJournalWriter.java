@@ -0,0 +1,306 @@
+package utopia.inception.event;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import utopia.inception.event.Event.Feature;
+
+/**
+ * EventJournalWriter records events into a binary journal file, so that they can be replayed 
+ * later. The file is written through memory mapped regions and only appended to. Each event 
+ * is stored with the time it was written, its features and a payload written by an event 
+ * codec. The features are identified with small ids, which are defined in the journal the 
+ * first time the feature is written.<br> 
+ * The journal consists of a header (a magic number, a version and the length of the journal 
+ * in bytes) followed by records. A feature definition record contains the record type, the 
+ * feature's id and its name. An event record contains the record type, the event's time in 
+ * nanoseconds, the amount of features, the feature ids, the length of the payload and the 
+ * payload itself.<br> 
+ * The file is never truncated, since truncating a file that is still mapped isn't safe. The 
+ * file is therefore longer than the journal, and the length in the header tells where the 
+ * journal ends. The length is written when the journal is closed. Until then it is 0 and 
+ * the journal ends at the zero byte that is always written after the last record.
+ *
+ * @since 18.10.2026
+ * @see EventJournalReader
+ */
+public class EventJournalWriter implements Closeable
+{
+	// ATTRIBUTES	------------------------------
+	
+	/**
+	 * The number every journal file starts with
+	 */
+	public static final int MAGIC = 0x494E4A4C;
+	/**
+	 * The version of the journal format
+	 */
+	public static final int VERSION = 2;
+	/**
+	 * How many bytes an event's payload may take at most
+	 */
+	public static final int MAX_PAYLOAD_SIZE = 65536;
+	/**
+	 * How many features an event may have at most
+	 */
+	public static final int MAX_FEATURE_AMOUNT = 255;
+	/**
+	 * How many different features a journal may contain at most
+	 */
+	public static final int MAX_FEATURE_ID_AMOUNT = 65536;
+	
+	static final byte FEATURE_RECORD = 1;
+	static final byte EVENT_RECORD = 2;
+	static final int HEADER_SIZE = 16;
+	static final int LENGTH_POSITION = 8;
+	static final int MAX_RECORD_SIZE = 1 + 8 + 1 + 2 * MAX_FEATURE_AMOUNT + 4 + 
+			MAX_PAYLOAD_SIZE;
+	static final int REGION_SIZE = 16 * 1024 * 1024;
+	
+	private final RandomAccessFile file;
+	private final FileChannel channel;
+	private final EventCodec codec;
+	private final ReentrantLock lock;
+	private final long startTime;
+	
+	private MappedByteBuffer region;
+	private long regionStart;
+	private final Map<Feature, Integer> featureIds;
+	private long eventAmount;
+	private boolean closed;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new journal. An existing file is overwritten, but not shortened.
+	 * @param file The file the journal is written to
+	 * @param codec The codec that identifies the features and writes the events' payloads
+	 * @throws IOException If the file couldn't be opened
+	 */
+	public EventJournalWriter(File file, EventCodec codec) throws IOException
+	{
+		// Initializes attributes
+		this.file = new RandomAccessFile(file, "rw");
+		this.channel = this.file.getChannel();
+		this.codec = codec;
+		this.lock = new ReentrantLock();
+		this.featureIds = new HashMap<>();
+		this.eventAmount = 0;
+		this.closed = false;
+		
+		this.regionStart = 0;
+		this.region = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION_SIZE);
+		this.region.putInt(MAGIC);
+		this.region.putInt(VERSION);
+		this.region.putLong(0);
+		markEnd();
+		
+		this.startTime = System.nanoTime();
+	}
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	/**
+	 * Closes the journal. The length of the written data is recorded in the header.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		this.lock.lock();
+		try
+		{
+			if (this.closed)
+				return;
+			
+			this.closed = true;
+			long length = this.regionStart + this.region.position();
+			
+			// The header is written through the mapping while the first region is in use
+			if (this.regionStart == 0)
+				this.region.putLong(LENGTH_POSITION, length);
+			this.region.force();
+			this.region = null;
+			if (this.regionStart != 0)
+			{
+				ByteBuffer lengthBuffer = ByteBuffer.allocate(8);
+				lengthBuffer.putLong(length);
+				lengthBuffer.flip();
+				while (lengthBuffer.hasRemaining())
+				{
+					this.channel.write(lengthBuffer, LENGTH_POSITION + lengthBuffer.position());
+				}
+				this.channel.force(false);
+			}
+			
+			this.regionStart = length;
+			this.file.close();
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Writes an event to the journal. The event's time is the time since the journal was 
+	 * created.
+	 * @param event The event that is written
+	 * @throws IOException If the journal couldn't be written to
+	 * @throws IllegalArgumentException If the event can't be stored in the journal
+	 */
+	public void write(Event event) throws IOException, IllegalArgumentException
+	{
+		write(event, System.nanoTime() - this.startTime);
+	}
+	
+	/**
+	 * Writes an event to the journal
+	 * @param event The event that is written
+	 * @param timeNanos The time of the event in nanoseconds. The events should be written in 
+	 * the order of their time.
+	 * @throws IOException If the journal couldn't be written to
+	 * @throws IllegalArgumentException If the event can't be stored in the journal
+	 */
+	public void write(Event event, long timeNanos) throws IOException, IllegalArgumentException
+	{
+		List<Feature> features = event.getFeatures();
+		if (features.size() > MAX_FEATURE_AMOUNT)
+			throw new IllegalArgumentException("An event can't have more than " + 
+					MAX_FEATURE_AMOUNT + " features in a journal");
+		
+		this.lock.lock();
+		try
+		{
+			if (this.closed)
+				throw new IOException("The journal has been closed");
+			
+			// Makes sure all the features have been defined
+			for (int i = 0; i < features.size(); i++)
+			{
+				getFeatureId(features.get(i));
+			}
+			
+			ensureSpace();
+			int start = this.region.position();
+			this.region.put(EVENT_RECORD);
+			this.region.putLong(timeNanos);
+			this.region.put((byte) features.size());
+			for (int i = 0; i < features.size(); i++)
+			{
+				this.region.putShort((short) (int) this.featureIds.get(features.get(i)));
+			}
+			
+			// The payload length is written once the payload is ready
+			int lengthPosition = this.region.position();
+			this.region.position(lengthPosition + 4);
+			ByteBuffer payload = this.region.slice();
+			payload.limit(MAX_PAYLOAD_SIZE);
+			try
+			{
+				this.codec.encodePayload(event, payload);
+			}
+			catch (BufferOverflowException e)
+			{
+				this.region.position(start);
+				markEnd();
+				throw new IllegalArgumentException("The event's payload can't be larger than " + 
+						MAX_PAYLOAD_SIZE + " bytes", e);
+			}
+			
+			this.region.putInt(lengthPosition, payload.position());
+			this.region.position(lengthPosition + 4 + payload.position());
+			markEnd();
+			this.eventAmount ++;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	/**
+	 * @return How many events have been written to the journal
+	 */
+	public long getEventAmount()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.eventAmount;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	/**
+	 * @return The size of the written data in bytes
+	 */
+	public long getSize()
+	{
+		this.lock.lock();
+		try
+		{
+			if (this.region == null)
+				return this.regionStart;
+			return this.regionStart + this.region.position();
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	// Expects the lock to be held
+	private int getFeatureId(Feature feature) throws IOException, IllegalArgumentException
+	{
+		Integer id = this.featureIds.get(feature);
+		if (id != null)
+			return id;
+		
+		if (this.featureIds.size() >= MAX_FEATURE_ID_AMOUNT)
+			throw new IllegalArgumentException("A journal can't contain more than " + 
+					MAX_FEATURE_ID_AMOUNT + " different features");
+		byte[] name = this.codec.encodeFeature(feature).getBytes(StandardCharsets.UTF_8);
+		if (name.length > 65535)
+			throw new IllegalArgumentException("Feature name is too long");
+		
+		int newId = this.featureIds.size();
+		ensureSpace();
+		this.region.put(FEATURE_RECORD);
+		this.region.putShort((short) newId);
+		this.region.putShort((short) name.length);
+		this.region.put(name);
+		markEnd();
+		this.featureIds.put(feature, newId);
+		
+		return newId;
+	}
+	
+	// Expects the lock to be held
+	private void ensureSpace() throws IOException
+	{
+		// A new region is mapped so that no record crosses the region's end
+		if (this.region.remaining() < MAX_RECORD_SIZE)
+		{
+			this.regionStart += this.region.position();
+			this.region.force();
+			this.region = this.channel.map(FileChannel.MapMode.READ_WRITE, this.regionStart, 
+					REGION_SIZE);
+			markEnd();
+		}
+	}
+	
+	// Overwrites whatever data an earlier file had after the last record, so that a journal 
+	// that isn't closed properly still ends at the right place
+	private void markEnd()
+	{
+		if (this.region.hasRemaining())
+			this.region.put(this.region.position(), (byte) 0);
+	}
+}
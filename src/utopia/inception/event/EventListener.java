@@ -0,0 +1,24 @@
+package utopia.inception.event;
+
+import utopia.inception.handling.Handled;
+
+/**
+ * EventListeners are interested in certain kinds of events, which they define with an 
+ * eventSelector.
+ *
+ * @since 18.10.2026
+ * @see EventListenerHandler
+ */
+public interface EventListener extends Handled
+{
+	/**
+	 * @return The selector that defines which events the listener is interested in
+	 */
+	public EventSelector getEventSelector();
+	
+	/**
+	 * This method will be called when an event the listener is interested in occurs
+	 * @param event The event that occurred
+	 */
+	public void onEvent(Event event);
+}
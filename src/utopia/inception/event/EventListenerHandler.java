@@ -0,0 +1,293 @@
+package utopia.inception.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import utopia.inception.handling.Handler;
+import utopia.inception.handling.HandlerType;
+import utopia.inception.handling.InceptionHandlerType;
+
+/**
+ * EventListenerHandler delivers events to the eventListeners that are interested in them. 
+ * Events can be added from any thread. They are queued and delivered in batches each time 
+ * the handler is handled, so that the handling overhead is shared between multiple events. 
+ * Each listener receives the events in the order the event buffer delivers them.<br> 
+ * The listeners are found with an eventSelectorIndex, so the selectors of the listeners that 
+ * couldn't be interested in an event aren't tested at all. The selectors are read when the 
+ * listeners are added to the handler. If a listener's selector is modified or replaced 
+ * afterwards, {@link #updateSelector(EventListener)} should be called.<br> 
+ * The handler keeps its own reference to the pooled events it queues and releases that 
+ * reference once the event has been delivered to all the listeners. 
+ * 
+ * @see EventSelectorIndex
+ * @see PooledEvent
+ *
+ * @since 18.10.2026
+ */
+public class EventListenerHandler extends Handler<EventListener>
+{
+	// ATTRIBUTES	------------------------------
+	
+	/**
+	 * How many events the queue can hold by default
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+	/**
+	 * How many events are delivered in a single batch by default
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 64;
+	
+	private EventBuffer queue;
+	private int batchSize;
+	private List<Event> batch;
+	
+	private EventSelectorIndex<EventListener> selectors;
+	private List<EventListener> selected;
+	private Event currentEvent;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new handler with default queue capacity and batch size
+	 */
+	public EventListenerHandler()
+	{
+		this(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+	}
+	
+	/**
+	 * Creates a new handler
+	 * @param capacity How many events can be waiting for delivery at once
+	 * @param batchSize How many events are delivered in a single batch
+	 * @throws IllegalArgumentException If the capacity or batch size is smaller than 1
+	 */
+	public EventListenerHandler(int capacity, int batchSize) throws IllegalArgumentException
+	{
+		this(new EventQueue(capacity), batchSize);
+	}
+	
+	/**
+	 * Creates a new handler that uses the provided buffer for the events waiting for 
+	 * delivery. The buffer defines the order in which the events are delivered and what 
+	 * happens when events are added faster than they are delivered.
+	 * @param queue The buffer the events are stored in until they are delivered
+	 * @param batchSize How many events are delivered in a single batch
+	 * @throws IllegalArgumentException If the buffer is null or the batch size is smaller 
+	 * than 1
+	 */
+	public EventListenerHandler(EventBuffer queue, int batchSize) throws IllegalArgumentException
+	{
+		if (queue == null)
+			throw new IllegalArgumentException("Event buffer must be provided");
+		if (batchSize < 1)
+			throw new IllegalArgumentException("Batch size must be positive");
+		
+		// Initializes attributes
+		this.queue = queue;
+		this.batchSize = batchSize;
+		this.batch = new ArrayList<>(batchSize);
+		this.selectors = new EventSelectorIndex<>();
+		this.selected = new ArrayList<>();
+		this.currentEvent = null;
+	}
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	@Override
+	public HandlerType getHandlerType()
+	{
+		return InceptionHandlerType.EVENTLISTENER;
+	}
+	
+	/**
+	 * Delivers the event that is currently being delivered to the listener. The listener's 
+	 * selector has already selected the event.
+	 */
+	@Override
+	protected boolean handleObject(EventListener l)
+	{
+		l.onEvent(this.currentEvent);
+		return true;
+	}
+	
+	/**
+	 * Delivers the events that were queued before this call to the interested listeners. 
+	 * The events added during the delivery are delivered the next time. The handler's 
+	 * references to pooled events are released once the events have been delivered.
+	 */
+	@Override
+	protected void handleObjects(boolean checkHandlingState)
+	{
+		updateStatus();
+		
+		int remaining = this.queue.size();
+		lockHandling();
+		try
+		{
+			while (remaining > 0)
+			{
+				int amount = this.queue.drainTo(this.batch, Math.min(this.batchSize, remaining));
+				if (amount == 0)
+					break;
+				remaining -= amount;
+				
+				for (int i = 0; i < amount; i++)
+				{
+					deliver(this.batch.get(i), checkHandlingState);
+				}
+				
+				clearBatch();
+			}
+			
+			// Dead listeners are only noticed when they are selected, so the rest of the 
+			// listeners are checked gradually
+			sweepDeadHandleds(getSweepBudget());
+		}
+		finally
+		{
+			this.currentEvent = null;
+			this.selected.clear();
+			clearBatch();
+			unlockHandling();
+		}
+		
+		updateStatus();
+	}
+	
+	@Override
+	protected void onHandledAdded(EventListener l)
+	{
+		lockHandling();
+		try
+		{
+			this.selectors.remove(l);
+			this.selectors.add(l.getEventSelector(), l);
+		}
+		finally { unlockHandling(); }
+	}
+	
+	@Override
+	protected void onHandledRemoved(EventListener l)
+	{
+		lockHandling();
+		try
+		{
+			this.selectors.remove(l);
+		}
+		finally { unlockHandling(); }
+	}
+	
+	@Override
+	protected void onHandledsCleared()
+	{
+		lockHandling();
+		try
+		{
+			this.selectors.clear();
+		}
+		finally { unlockHandling(); }
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Queues an event to be delivered to the interested listeners. This can be called from 
+	 * any thread. If the queue is full, the queue's overflow policy defines what happens. 
+	 * The handler retains pooled events for itself, so the caller still releases its own 
+	 * reference once it has dispatched the event to all of its handlers.
+	 * @param event The event that will be delivered
+	 * @return Was the event queued. False if the event was dropped.
+	 */
+	public boolean addEvent(Event event)
+	{
+		PooledEvent.retainIfPooled(event);
+		if (this.queue.offer(event))
+			return true;
+		
+		// The buffer leaves dropped events to the caller
+		PooledEvent.releaseIfPooled(event);
+		return false;
+	}
+	
+	/**
+	 * Delivers the queued events to the interested listeners. This should be called once 
+	 * each tick from the thread that handles this handler.
+	 */
+	public void handleEvents()
+	{
+		handleObjects(true);
+	}
+	
+	/**
+	 * Reindexes the listener's selector. This should be called when the selector of a 
+	 * listener in this handler is modified or replaced.
+	 * @param l The listener whose selector changed
+	 */
+	public void updateSelector(EventListener l)
+	{
+		if (l == null)
+			return;
+		
+		lockHandling();
+		try
+		{
+			// Listeners that haven't been added yet are indexed once they are added
+			if (this.selectors.contains(l))
+			{
+				this.selectors.remove(l);
+				this.selectors.add(l.getEventSelector(), l);
+			}
+		}
+		finally { unlockHandling(); }
+	}
+	
+	/**
+	 * @return How many events are currently waiting for delivery
+	 */
+	public int getQueuedEventAmount()
+	{
+		return this.queue.size();
+	}
+	
+	/**
+	 * @return How many events have been dropped because the queue was full
+	 */
+	public long getDroppedEventAmount()
+	{
+		return this.queue.getDroppedAmount();
+	}
+	
+	/**
+	 * @return How many events have been replaced with newer events because the queue was 
+	 * full
+	 */
+	public long getCoalescedEventAmount()
+	{
+		return this.queue.getCoalescedAmount();
+	}
+	
+	private void deliver(Event event, boolean checkHandlingState)
+	{
+		this.currentEvent = event;
+		this.selectors.findSelected(event, this.selected);
+		for (int i = 0; i < this.selected.size(); i++)
+		{
+			handleSingleObject(this.selected.get(i), null, checkHandlingState);
+		}
+		this.selected.clear();
+	}
+	
+	// Releases the references the handler retained when the events were added
+	private void clearBatch()
+	{
+		for (int i = 0; i < this.batch.size(); i++)
+		{
+			PooledEvent.releaseIfPooled(this.batch.get(i));
+		}
+		
+		this.batch.clear();
+	}
+}
@@ -0,0 +1,19 @@
+package utopia.inception.event;
+
+/**
+ * EventMergers combine two events that describe the same thing into a single event
+ *
+ * @since 18.10.2026
+ * @see CoalescingEventBuffer
+ */
+public interface EventMerger
+{
+	/**
+	 * Combines two events into one
+	 * @param previous The event that occurred earlier
+	 * @param next The event that occurred later
+	 * @return An event that is delivered instead of the two events. If this is a new 
+	 * pooled event, the pooled events that were merged are released.
+	 */
+	public Event merge(Event previous, Event next);
+}
@@ -0,0 +1,127 @@
+package utopia.inception.event;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * EventPool keeps the released pooled events so that they can be reused instead of creating 
+ * new events. Events can be obtained and released from any thread. The pool holds a limited 
+ * amount of events, the rest of the released events are left for the garbage collector.
+ *
+ * @since 18.10.2026
+ * @param <T> The type of event stored in this pool
+ */
+public abstract class EventPool<T extends PooledEvent>
+{
+	// ATTRIBUTES	------------------------------
+	
+	private final PooledEvent[] events;
+	private int size;
+	private final ReentrantLock lock;
+	private long createdAmount;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new empty pool
+	 * @param capacity How many released events the pool can hold at once
+	 * @throws IllegalArgumentException If the capacity is smaller than 1
+	 */
+	public EventPool(int capacity) throws IllegalArgumentException
+	{
+		if (capacity < 1)
+			throw new IllegalArgumentException("Pool capacity must be positive");
+		
+		// Initializes attributes
+		this.events = new PooledEvent[capacity];
+		this.size = 0;
+		this.lock = new ReentrantLock();
+		this.createdAmount = 0;
+	}
+	
+	
+	// ABSTRACT METHODS	-------------------------
+	
+	/**
+	 * Creates a new event for the pool. This is called when there are no released events 
+	 * left.
+	 * @return A new event without any features
+	 */
+	protected abstract T createEvent();
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Provides an event that can be used. The caller holds the only reference to the event 
+	 * and should release it once it is no longer used.
+	 * @return An event without any features
+	 * @see PooledEvent#release()
+	 */
+	@SuppressWarnings("unchecked")
+	public T obtain()
+	{
+		T event = null;
+		
+		this.lock.lock();
+		try
+		{
+			if (this.size > 0)
+			{
+				event = (T) this.events[-- this.size];
+				this.events[this.size] = null;
+			}
+			else
+				this.createdAmount ++;
+		}
+		finally { this.lock.unlock(); }
+		
+		if (event == null)
+		{
+			event = createEvent();
+			event.pool = this;
+		}
+		event.references.set(1);
+		
+		return event;
+	}
+	
+	/**
+	 * @return How many released events are currently waiting in the pool
+	 */
+	public int getPooledAmount()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.size;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	/**
+	 * @return How many events the pool has had to create
+	 */
+	public long getCreatedAmount()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.createdAmount;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	void release(PooledEvent event)
+	{
+		event.clear();
+		
+		this.lock.lock();
+		try
+		{
+			if (this.size < this.events.length)
+				this.events[this.size ++] = event;
+		}
+		finally { this.lock.unlock(); }
+	}
+}
@@ -0,0 +1,347 @@
+package utopia.inception.event;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * EventQueue is a bounded first in first out queue for events. Events can be added from any 
+ * thread. The queue is backed by a ring buffer, so it doesn't need to grow or wrap the events 
+ * in nodes. The overflow policy of the queue defines what happens when events are added 
+ * faster than they are removed. A coalescing queue calculates a key feature set for each 
+ * added event and tracks the latest index of each key, which allocates a little on every 
+ * addition, so the other policies should be preferred when that matters.
+ *
+ * @since 18.10.2026
+ */
+public class EventQueue implements EventBuffer
+{
+	// ATTRIBUTES	------------------------------
+	
+	private final Event[] events;
+	private int first, size;
+	private final ReentrantLock lock;
+	private final Condition notFull;
+	
+	private final OverflowPolicy policy;
+	private final FeatureSet coalescingFeatures;
+	// Coalescing keys are only tracked when the policy requires it
+	private final FeatureSet[] keys;
+	private final Map<FeatureSet, Long> lastIndices;
+	private long firstIndex;
+	
+	private long droppedAmount, coalescedAmount;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new empty queue. New events are dropped while the queue is full.
+	 * @param capacity How many events can be held in the queue at once
+	 * @throws IllegalArgumentException If the capacity is smaller than 1
+	 */
+	public EventQueue(int capacity) throws IllegalArgumentException
+	{
+		this(capacity, OverflowPolicy.DROP_NEWEST);
+	}
+	
+	/**
+	 * Creates a new empty queue
+	 * @param capacity How many events can be held in the queue at once
+	 * @param policy What is done when an event is added to a full queue. Coalescing requires 
+	 * key features, so {@link #EventQueue(int, FeatureSet)} should be used for that instead.
+	 * @throws IllegalArgumentException If the capacity is smaller than 1 or if the policy is 
+	 * null or {@link OverflowPolicy#COALESCE}
+	 */
+	public EventQueue(int capacity, OverflowPolicy policy) throws IllegalArgumentException
+	{
+		this(capacity, policy, null);
+		
+		if (policy == OverflowPolicy.COALESCE)
+			throw new IllegalArgumentException("Coalescing requires key features");
+	}
+	
+	/**
+	 * Creates a new empty queue that coalesces events when it is full. When a new event is 
+	 * added to a full queue, it replaces the latest queued event that has the same key 
+	 * features. If there is no such event, the oldest event is dropped instead.
+	 * @param capacity How many events can be held in the queue at once
+	 * @param coalescingFeatures The features that define which events can be coalesced. 
+	 * Events are coalesced if they share the same subset of these features.
+	 * @throws IllegalArgumentException If the capacity is smaller than 1
+	 */
+	public EventQueue(int capacity, FeatureSet coalescingFeatures) throws 
+			IllegalArgumentException
+	{
+		this(capacity, OverflowPolicy.COALESCE, coalescingFeatures);
+	}
+	
+	private EventQueue(int capacity, OverflowPolicy policy, FeatureSet coalescingFeatures) 
+			throws IllegalArgumentException
+	{
+		if (capacity < 1)
+			throw new IllegalArgumentException("Queue capacity must be positive");
+		if (policy == null)
+			throw new IllegalArgumentException("Overflow policy must be specified");
+		
+		// Initializes attributes
+		this.events = new Event[capacity];
+		this.first = 0;
+		this.size = 0;
+		this.lock = new ReentrantLock();
+		this.notFull = this.lock.newCondition();
+		
+		this.policy = policy;
+		this.coalescingFeatures = coalescingFeatures == null ? FeatureSet.EMPTY : 
+				coalescingFeatures;
+		if (policy == OverflowPolicy.COALESCE)
+		{
+			this.keys = new FeatureSet[capacity];
+			this.lastIndices = new HashMap<>();
+		}
+		else
+		{
+			this.keys = null;
+			this.lastIndices = null;
+		}
+		this.firstIndex = 0;
+		
+		this.droppedAmount = 0;
+		this.coalescedAmount = 0;
+	}
+	
+	
+	// ACCESSORS	---------------------------------
+	
+	/**
+	 * @return How many events can be held in the queue at once
+	 */
+	public int getCapacity()
+	{
+		return this.events.length;
+	}
+	
+	/**
+	 * @return What is done when an event is added to a full queue
+	 */
+	public OverflowPolicy getOverflowPolicy()
+	{
+		return this.policy;
+	}
+	
+	/**
+	 * @return How many events have been dropped because the queue was full
+	 */
+	@Override
+	public long getDroppedAmount()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.droppedAmount;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	/**
+	 * @return How many events have been replaced with newer events because the queue was 
+	 * full
+	 */
+	@Override
+	public long getCoalescedAmount()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.coalescedAmount;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Adds a new event to the end of the queue. If the queue is full, the queue's overflow 
+	 * policy defines what happens. With a blocking policy, this method waits until there is 
+	 * room in the queue, so it must not be called from the thread that empties the queue. 
+	 * Pooled events that are removed from the queue to make room are released.
+	 * @param event The event that is added
+	 * @return Was the event added to the queue. False if the event was dropped, in which 
+	 * case the caller is responsible for the event.
+	 */
+	@Override
+	public boolean offer(Event event)
+	{
+		if (event == null)
+			return false;
+		
+		this.lock.lock();
+		try
+		{
+			FeatureSet key = this.keys == null ? null : 
+					FeatureSet.of(event).intersection(this.coalescingFeatures);
+			
+			if (this.size == this.events.length)
+			{
+				switch (this.policy)
+				{
+					case BLOCK:
+						try
+						{
+							while (this.size == this.events.length)
+							{
+								this.notFull.await();
+							}
+						}
+						catch (InterruptedException e)
+						{
+							Thread.currentThread().interrupt();
+							this.droppedAmount ++;
+							return false;
+						}
+						break;
+					case DROP_NEWEST:
+						this.droppedAmount ++;
+						return false;
+					case COALESCE:
+						Long index = this.lastIndices.get(key);
+						if (index != null)
+						{
+							int position = getPosition(index);
+							PooledEvent.releaseIfPooled(this.events[position]);
+							this.events[position] = event;
+							this.coalescedAmount ++;
+							return true;
+						}
+						PooledEvent.releaseIfPooled(removeFirst());
+						this.droppedAmount ++;
+						break;
+					case DROP_OLDEST:
+						PooledEvent.releaseIfPooled(removeFirst());
+						this.droppedAmount ++;
+						break;
+				}
+			}
+			
+			int position = (this.first + this.size) % this.events.length;
+			this.events[position] = event;
+			if (this.keys != null)
+			{
+				this.keys[position] = key;
+				this.lastIndices.put(key, this.firstIndex + this.size);
+			}
+			this.size ++;
+			
+			return true;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	/**
+	 * Moves events from the beginning of the queue to the provided list
+	 * @param target The list the events are added to
+	 * @param maxAmount How many events can be moved at most
+	 * @return How many events were moved
+	 */
+	@Override
+	public int drainTo(List<? super Event> target, int maxAmount)
+	{
+		this.lock.lock();
+		try
+		{
+			int amount = Math.min(maxAmount, this.size);
+			for (int i = 0; i < amount; i++)
+			{
+				target.add(removeFirst());
+			}
+			
+			if (amount > 0)
+				this.notFull.signalAll();
+			
+			return amount;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	/**
+	 * @return How many events are currently in the queue
+	 */
+	@Override
+	public int size()
+	{
+		this.lock.lock();
+		try
+		{
+			return this.size;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	/**
+	 * @return Is the queue currently empty
+	 */
+	public boolean isEmpty()
+	{
+		return size() == 0;
+	}
+	
+	// Expects the lock to be held and the queue to have events
+	private Event removeFirst()
+	{
+		Event event = this.events[this.first];
+		this.events[this.first] = null;
+		
+		if (this.keys != null)
+		{
+			// The key is forgotten if no later event has the same key
+			FeatureSet key = this.keys[this.first];
+			this.keys[this.first] = null;
+			Long lastIndex = this.lastIndices.get(key);
+			if (lastIndex != null && lastIndex == this.firstIndex)
+				this.lastIndices.remove(key);
+		}
+		
+		this.first = (this.first + 1) % this.events.length;
+		this.firstIndex ++;
+		this.size --;
+		
+		return event;
+	}
+	
+	private int getPosition(long index)
+	{
+		return (int) ((this.first + (index - this.firstIndex)) % this.events.length);
+	}
+	
+	
+	// ENUMERATIONS	---------------------------------
+	
+	/**
+	 * OverflowPolicies define what an eventQueue does when an event is added while it is full
+	 *
+	 * @since 18.10.2026
+	 */
+	public static enum OverflowPolicy
+	{
+		/**
+		 * The adding thread waits until there is room in the queue
+		 */
+		BLOCK,
+		/**
+		 * The oldest event in the queue is dropped to make room for the new event
+		 */
+		DROP_OLDEST,
+		/**
+		 * The new event is dropped
+		 */
+		DROP_NEWEST,
+		/**
+		 * The new event replaces a queued event that has the same key features. If there is 
+		 * no such event, the oldest event is dropped.
+		 */
+		COALESCE;
+	}
+}
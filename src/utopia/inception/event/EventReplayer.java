@@ -0,0 +1,133 @@
+package utopia.inception.event;
+
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * EventReplayer feeds the events recorded in a journal to an eventListenerHandler, keeping 
+ * the original intervals between the events. The replay can be sped up with a time 
+ * compression factor, or the events can be replayed as fast as the handler accepts them.
+ *
+ * @since 18.10.2026
+ * @see EventJournalReader
+ */
+public class EventReplayer
+{
+	// ATTRIBUTES	------------------------------
+	
+	/**
+	 * The time compression factor that replays the events without any waiting
+	 */
+	public static final double AS_FAST_AS_POSSIBLE = Double.POSITIVE_INFINITY;
+	
+	// Waits shorter than this are spun instead of parked, since parking isn't accurate
+	private static final long SPIN_THRESHOLD_NANOS = 100000;
+	
+	private final EventJournalReader reader;
+	private final EventListenerHandler handler;
+	private final double timeCompression;
+	
+	private volatile boolean stopped;
+	private long replayedAmount, droppedAmount;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new replayer
+	 * @param reader The reader that provides the events
+	 * @param handler The handler the events are added to
+	 * @param timeCompression How many times faster than the original the events are 
+	 * replayed. 1 replays the events at the original speed, {@link #AS_FAST_AS_POSSIBLE} 
+	 * doesn't wait between the events at all.
+	 * @throws IllegalArgumentException If the time compression factor isn't positive
+	 */
+	public EventReplayer(EventJournalReader reader, EventListenerHandler handler, 
+			double timeCompression) throws IllegalArgumentException
+	{
+		if (!(timeCompression > 0))
+			throw new IllegalArgumentException("Time compression must be positive");
+		
+		// Initializes attributes
+		this.reader = reader;
+		this.handler = handler;
+		this.timeCompression = timeCompression;
+		this.stopped = false;
+		this.replayedAmount = 0;
+		this.droppedAmount = 0;
+	}
+	
+	
+	// ACCESSORS	---------------------------------
+	
+	/**
+	 * @return How many events have been added to the handler
+	 */
+	public long getReplayedAmount()
+	{
+		return this.replayedAmount;
+	}
+	
+	/**
+	 * @return How many events the handler didn't accept
+	 */
+	public long getDroppedAmount()
+	{
+		return this.droppedAmount;
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Replays the events until the journal ends or the replay is stopped. The events are 
+	 * added in the calling thread, which waits between the events.
+	 * @throws IOException If the journal couldn't be read
+	 */
+	public void replay() throws IOException
+	{
+		this.stopped = false;
+		long startTime = System.nanoTime();
+		long firstEventTime = -1;
+		
+		while (!this.stopped)
+		{
+			Event event = this.reader.readNext();
+			if (event == null)
+				break;
+			
+			if (firstEventTime < 0)
+				firstEventTime = this.reader.getLastEventTime();
+			if (this.timeCompression != AS_FAST_AS_POSSIBLE)
+				waitUntil(startTime + (long) ((this.reader.getLastEventTime() - 
+						firstEventTime) / this.timeCompression));
+			
+			if (this.handler.addEvent(event))
+				this.replayedAmount ++;
+			else
+				this.droppedAmount ++;
+			// The handler keeps its own reference to the events it accepts
+			PooledEvent.releaseIfPooled(event);
+		}
+	}
+	
+	/**
+	 * Stops the replay. This can be called from any thread.
+	 */
+	public void stop()
+	{
+		this.stopped = true;
+	}
+	
+	private void waitUntil(long time)
+	{
+		while (!this.stopped)
+		{
+			long remaining = time - System.nanoTime();
+			if (remaining <= 0)
+				return;
+			else if (remaining > SPIN_THRESHOLD_NANOS)
+				LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+		}
+	}
+}
@@ -0,0 +1,287 @@
+package utopia.inception.event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EventSelectorIndex finds the targets whose selectors would select an event without testing 
+ * each selector separately. StrictEventSelectors are indexed by one of their required 
+ * features, so only the selectors that require a feature the event actually has are tested. 
+ * MultiEventSelectors are indexed by each of their options. Other kinds of selectors are 
+ * tested normally.<br> 
+ * The selectors are read when they are added to the index, so they shouldn't be modified 
+ * afterwards. The index is not synchronized.
+ *
+ * @since 18.10.2026
+ * @param <T> The type of object the selectors are registered for
+ */
+public class EventSelectorIndex<T>
+{
+	// ATTRIBUTES	------------------------------
+	
+	private List<List<Entry<T>>> entriesByFeature;
+	private List<Entry<T>> unkeyedEntries, otherEntries;
+	private Map<T, Target<T>> targets;
+	private int selectionIndex;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new empty index
+	 */
+	public EventSelectorIndex()
+	{
+		// Initializes attributes
+		this.entriesByFeature = new ArrayList<>();
+		this.unkeyedEntries = new ArrayList<>();
+		this.otherEntries = new ArrayList<>();
+		this.targets = new HashMap<>();
+		this.selectionIndex = 0;
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Adds a new selector to the index. If a selector was already registered for the target, 
+	 * the target is selected when either of the selectors selects an event.
+	 * @param selector The selector that defines which events the target is interested in. 
+	 * If null, the target is added without being selected by any events.
+	 * @param target The object the selector is registered for
+	 */
+	public void add(EventSelector selector, T target)
+	{
+		if (target == null)
+			return;
+		
+		Target<T> indexed = this.targets.get(target);
+		if (indexed == null)
+		{
+			indexed = new Target<>(target);
+			this.targets.put(target, indexed);
+		}
+		
+		if (selector != null)
+			addEntries(selector, indexed);
+	}
+	
+	/**
+	 * Removes a target and all of its selectors from the index
+	 * @param target The object that is removed from the index
+	 */
+	public void remove(T target)
+	{
+		Target<T> indexed = this.targets.remove(target);
+		if (indexed == null)
+			return;
+		
+		for (Entry<T> entry : indexed.entries)
+		{
+			if (entry.keyFeatureId >= 0)
+				this.entriesByFeature.get(entry.keyFeatureId).remove(entry);
+			else if (entry.selector == null)
+				this.unkeyedEntries.remove(entry);
+			else
+				this.otherEntries.remove(entry);
+		}
+	}
+	
+	/**
+	 * @param target An object
+	 * @return Has the target been added to the index
+	 */
+	public boolean contains(T target)
+	{
+		return this.targets.containsKey(target);
+	}
+	
+	/**
+	 * Removes all targets from the index
+	 */
+	public void clear()
+	{
+		this.entriesByFeature.clear();
+		this.unkeyedEntries.clear();
+		this.otherEntries.clear();
+		this.targets.clear();
+	}
+	
+	/**
+	 * @return The amount of targets in this index
+	 */
+	public int size()
+	{
+		return this.targets.size();
+	}
+	
+	/**
+	 * Finds all the targets that have a selector that would select the event. Each target 
+	 * is returned only once.
+	 * @param event An event
+	 * @return The targets whose selectors select the event
+	 */
+	public List<T> getSelected(Event event)
+	{
+		List<T> selected = new ArrayList<>();
+		findSelected(event, selected);
+		return selected;
+	}
+	
+	/**
+	 * Finds all the targets that have a selector that would select the event. Each target 
+	 * is added only once. This can be used instead of {@link #getSelected(Event)} when the 
+	 * same collection is reused for multiple events.
+	 * @param event An event
+	 * @param selected The collection the selected targets are added to
+	 */
+	public void findSelected(Event event, Collection<? super T> selected)
+	{
+		FeatureSet features = FeatureSet.of(event);
+		this.selectionIndex ++;
+		
+		// Only the selectors that are keyed with the event's features need to be tested
+		for (int id = features.nextId(0); id >= 0 && id < this.entriesByFeature.size(); 
+				id = features.nextId(id + 1))
+		{
+			for (Entry<T> entry : this.entriesByFeature.get(id))
+			{
+				if (features.containsAll(entry.requiredFeatures) && 
+						!features.intersects(entry.unacceptableFeatures))
+					select(entry, selected);
+			}
+		}
+		
+		for (Entry<T> entry : this.unkeyedEntries)
+		{
+			if (!features.intersects(entry.unacceptableFeatures))
+				select(entry, selected);
+		}
+		
+		for (Entry<T> entry : this.otherEntries)
+		{
+			if (entry.selector.selects(event))
+				select(entry, selected);
+		}
+	}
+	
+	private void select(Entry<T> entry, Collection<? super T> selected)
+	{
+		// Targets that have already been selected are skipped
+		if (entry.target.selectionIndex != this.selectionIndex)
+		{
+			entry.target.selectionIndex = this.selectionIndex;
+			selected.add(entry.target.target);
+		}
+	}
+	
+	private void addEntries(EventSelector selector, Target<T> target)
+	{
+		if (selector instanceof StrictEventSelector)
+		{
+			StrictEventSelector strict = (StrictEventSelector) selector;
+			Entry<T> entry = new Entry<>(target, strict.getRequiredFeatureSet(), 
+					strict.getUnacceptableFeatureSet());
+			target.entries.add(entry);
+			
+			if (entry.requiredFeatures.isEmpty())
+				this.unkeyedEntries.add(entry);
+			else
+			{
+				// The entry is keyed with the feature that has the least entries so far
+				FeatureSet required = entry.requiredFeatures;
+				for (int id = required.nextId(0); id >= 0; id = required.nextId(id + 1))
+				{
+					if (entry.keyFeatureId < 0 || getEntryAmount(id) < 
+							getEntryAmount(entry.keyFeatureId))
+						entry.keyFeatureId = id;
+				}
+				
+				while (this.entriesByFeature.size() <= entry.keyFeatureId)
+				{
+					this.entriesByFeature.add(new ArrayList<Entry<T>>());
+				}
+				this.entriesByFeature.get(entry.keyFeatureId).add(entry);
+			}
+		}
+		else if (selector instanceof MultiEventSelector)
+		{
+			// Each option is indexed separately
+			for (EventSelector option : ((MultiEventSelector) selector).getOptions())
+			{
+				addEntries(option, target);
+			}
+		}
+		else
+		{
+			Entry<T> entry = new Entry<>(target, selector);
+			target.entries.add(entry);
+			this.otherEntries.add(entry);
+		}
+	}
+	
+	private int getEntryAmount(int featureId)
+	{
+		if (featureId < this.entriesByFeature.size())
+			return this.entriesByFeature.get(featureId).size();
+		else
+			return 0;
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class Target<T>
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private T target;
+		private List<Entry<T>> entries;
+		private int selectionIndex;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public Target(T target)
+		{
+			this.target = target;
+			this.entries = new ArrayList<>();
+			this.selectionIndex = 0;
+		}
+	}
+	
+	private static class Entry<T>
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private Target<T> target;
+		private FeatureSet requiredFeatures, unacceptableFeatures;
+		private EventSelector selector;
+		private int keyFeatureId;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public Entry(Target<T> target, FeatureSet requiredFeatures, 
+				FeatureSet unacceptableFeatures)
+		{
+			this.target = target;
+			this.requiredFeatures = requiredFeatures;
+			this.unacceptableFeatures = unacceptableFeatures;
+			this.selector = null;
+			this.keyFeatureId = -1;
+		}
+		
+		public Entry(Target<T> target, EventSelector selector)
+		{
+			this.target = target;
+			this.requiredFeatures = null;
+			this.unacceptableFeatures = null;
+			this.selector = selector;
+			this.keyFeatureId = -1;
+		}
+	}
+}
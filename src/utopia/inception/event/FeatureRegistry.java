@@ -0,0 +1,94 @@
+package utopia.inception.event;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import utopia.inception.event.Event.Feature;
+
+/**
+ * FeatureRegistry interns event features by giving each of them a unique integer id. The 
+ * ids are dense, starting from 0, which makes them suitable for indexing arrays and bit 
+ * sets. The features are compared with equals, so equal features share an id.
+ * <p>
+ * The registry only refers to the features weakly, so features that are no longer used 
+ * elsewhere can be collected. Their ids are never reused, though, since feature sets 
+ * created earlier may still contain them. Each registered feature therefore permanently 
+ * reserves one bit index and the highest index in use decides how many words a feature 
+ * set needs. Creating lots of short lived features makes the sets larger, so features 
+ * should preferably be long lived values, like enum constants. At most 
+ * Integer.MAX_VALUE features can be registered.
+ *
+ * @since 18.10.2026
+ * @see FeatureSet
+ */
+public class FeatureRegistry
+{
+	// ATTRIBUTES	------------------------------
+	
+	private static final Map<Feature, Integer> IDS = new WeakHashMap<>();
+	private static final List<WeakReference<Feature>> FEATURES = new ArrayList<>();
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	private FeatureRegistry()
+	{
+		// The interface is static
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Finds the id of a feature. The feature is registered if it hasn't been already.
+	 * @param feature A feature
+	 * @return The id of the feature
+	 */
+	public static int getId(Feature feature)
+	{
+		synchronized (IDS)
+		{
+			Integer id = IDS.get(feature);
+			if (id == null)
+			{
+				if (FEATURES.size() == Integer.MAX_VALUE)
+					throw new IllegalStateException("All feature ids have been used");
+				
+				id = FEATURES.size();
+				FEATURES.add(new WeakReference<>(feature));
+				IDS.put(feature, id);
+			}
+			
+			return id;
+		}
+	}
+	
+	/**
+	 * Finds the feature with the given id
+	 * @param id The id of a feature
+	 * @return The feature with the given id. Null if the feature has already been collected.
+	 * @throws IndexOutOfBoundsException If no feature has been registered with the given id
+	 */
+	public static Feature getFeature(int id) throws IndexOutOfBoundsException
+	{
+		synchronized (IDS)
+		{
+			return FEATURES.get(id).get();
+		}
+	}
+	
+	/**
+	 * @return How many feature ids have been given so far, including the ids of features 
+	 * that have since been collected
+	 */
+	public static int getFeatureAmount()
+	{
+		synchronized (IDS)
+		{
+			return FEATURES.size();
+		}
+	}
+}
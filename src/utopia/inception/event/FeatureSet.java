@@ -0,0 +1,235 @@
+package utopia.inception.event;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import utopia.inception.event.Event.Feature;
+
+/**
+ * FeatureSet is an immutable set of event features, represented as a bit set of the 
+ * features' ids. Comparing two feature sets only requires a couple of word-wise operations, 
+ * regardless of the amount of features involved.
+ *
+ * @since 18.10.2026
+ * @see FeatureRegistry
+ */
+public class FeatureSet
+{
+	// ATTRIBUTES	------------------------------
+	
+	/**
+	 * An empty feature set
+	 */
+	public static final FeatureSet EMPTY = new FeatureSet(new long[0]);
+	
+	private final long[] words;
+	private final int hashCode;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new feature set
+	 * @param features The features in the set
+	 */
+	public FeatureSet(Collection<? extends Feature> features)
+	{
+		this(wordsFor(features.toArray(new Feature[features.size()])));
+	}
+	
+	/**
+	 * Creates a new feature set
+	 * @param features The features in the set
+	 */
+	public FeatureSet(Feature... features)
+	{
+		this(wordsFor(features));
+	}
+	
+	private FeatureSet(long[] words)
+	{
+		// The trailing empty words are dropped so that equal sets have equal words
+		int length = words.length;
+		while (length > 0 && words[length - 1] == 0)
+		{
+			length --;
+		}
+		
+		this.words = length == words.length ? words : Arrays.copyOf(words, length);
+		this.hashCode = Arrays.hashCode(this.words);
+	}
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	@Override
+	public int hashCode()
+	{
+		return this.hashCode;
+	}
+	
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+			return true;
+		if (!(obj instanceof FeatureSet))
+			return false;
+		
+		FeatureSet other = (FeatureSet) obj;
+		return this.hashCode == other.hashCode && Arrays.equals(this.words, other.words);
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * @return Is the set empty
+	 */
+	public boolean isEmpty()
+	{
+		return this.words.length == 0;
+	}
+	
+	/**
+	 * @return The amount of features in this set
+	 */
+	public int size()
+	{
+		int size = 0;
+		for (long word : this.words)
+		{
+			size += Long.bitCount(word);
+		}
+		
+		return size;
+	}
+	
+	/**
+	 * @param feature A feature
+	 * @return Does this set contain the given feature
+	 */
+	public boolean contains(Feature feature)
+	{
+		return feature != null && contains(FeatureRegistry.getId(feature));
+	}
+	
+	/**
+	 * @param featureId The id of a feature
+	 * @return Does this set contain the feature with the given id
+	 * @see FeatureRegistry#getId(Feature)
+	 */
+	public boolean contains(int featureId)
+	{
+		int index = featureId >>> 6;
+		return index < this.words.length && (this.words[index] & (1L << featureId)) != 0;
+	}
+	
+	/**
+	 * @param other Another feature set
+	 * @return Does this set contain all of the features in the other set
+	 */
+	public boolean containsAll(FeatureSet other)
+	{
+		if (other.words.length > this.words.length)
+			return false;
+		
+		for (int i = 0; i < other.words.length; i++)
+		{
+			if ((other.words[i] & ~this.words[i]) != 0)
+				return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * @param other Another feature set
+	 * @return Does this set contain any of the features in the other set
+	 */
+	public boolean intersects(FeatureSet other)
+	{
+		int length = Math.min(this.words.length, other.words.length);
+		for (int i = 0; i < length; i++)
+		{
+			if ((this.words[i] & other.words[i]) != 0)
+				return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * @param other Another feature set
+	 * @return A set that contains the features that are in both of the sets
+	 */
+	public FeatureSet intersection(FeatureSet other)
+	{
+		long[] words = new long[Math.min(this.words.length, other.words.length)];
+		for (int i = 0; i < words.length; i++)
+		{
+			words[i] = this.words[i] & other.words[i];
+		}
+		
+		return new FeatureSet(words);
+	}
+	
+	/**
+	 * Finds the next feature id in this set. This can be used for iterating through the 
+	 * set: <code>for (int id = set.nextId(0); id >= 0; id = set.nextId(id + 1))</code>
+	 * @param fromId The smallest id that is accepted
+	 * @return The smallest feature id in this set that is at least the given id. -1 if 
+	 * there is no such id.
+	 */
+	public int nextId(int fromId)
+	{
+		int index = fromId >>> 6;
+		if (fromId < 0 || index >= this.words.length)
+			return -1;
+		
+		long word = this.words[index] & (-1L << fromId);
+		while (true)
+		{
+			if (word != 0)
+				return index * 64 + Long.numberOfTrailingZeros(word);
+			if (++ index >= this.words.length)
+				return -1;
+			word = this.words[index];
+		}
+	}
+	
+	
+	// FACTORIES	---------------------------------------
+	
+	/**
+	 * Finds the feature set of an event. The event's own feature set is used if it has one.
+	 * @param event An event
+	 * @return A feature set containing the event's features
+	 * @see FeatureSetEvent
+	 */
+	public static FeatureSet of(Event event)
+	{
+		if (event instanceof FeatureSetEvent)
+			return ((FeatureSetEvent) event).getFeatureSet();
+		else
+			return new FeatureSet(event.getFeatures());
+	}
+	
+	private static long[] wordsFor(Feature[] features)
+	{
+		long[] words = new long[0];
+		for (Feature feature : features)
+		{
+			if (feature == null)
+				continue;
+			
+			int id = FeatureRegistry.getId(feature);
+			int index = id >>> 6;
+			if (index >= words.length)
+				words = Arrays.copyOf(words, index + 1);
+			words[index] |= 1L << id;
+		}
+		
+		return words;
+	}
+}
@@ -0,0 +1,17 @@
+package utopia.inception.event;
+
+/**
+ * FeatureSetEvents provide their features as a FeatureSet as well as a list. Selectors use 
+ * the feature set when it is available, which makes selection considerably faster. Events 
+ * that are tested by many selectors should implement this interface.
+ *
+ * @since 18.10.2026
+ */
+public interface FeatureSetEvent extends Event
+{
+	/**
+	 * @return The features of this event as a feature set. The set must contain the same 
+	 * features as {@link #getFeatures()}.
+	 */
+	public FeatureSet getFeatureSet();
+}
@@ -1,7 +1,9 @@
 package utopia.inception.event;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * MultiMouseEventSelector selects an event if it matches any of its internal requirement 
@@ -14,7 +16,7 @@ public class MultiEventSelector implements EventSelector
 {
 	// ATTRIBUTES	-------------------------------------------
 	
-	private List<EventSelector> selectors;
+	private Set<EventSelector> selectors;
 	
 	
 	// CONSTRUCTOR	------------------------------------
@@ -26,7 +28,7 @@ public class MultiEventSelector implements EventSelector
 	public MultiEventSelector()
 	{
 		// Initializes attributes
-		this.selectors = new ArrayList<EventSelector>();
+		this.selectors = new LinkedHashSet<EventSelector>();
 	}
 	
 	
@@ -53,7 +55,28 @@ public class MultiEventSelector implements EventSelector
 	 */
 	public void addOption(EventSelector selector)
 	{
-		if (!this.selectors.contains(selector))
+		if (selector != null)
 			this.selectors.add(selector);
 	}
+	
+	/**
+	 * @return The selectors that work as options for selection. The list is a copy and 
+	 * changes made to it won't affect this selector.
+	 */
+	public List<EventSelector> getOptions()
+	{
+		return new ArrayList<>(this.selectors);
+	}
+	
+	/**
+	 * Compiles this selector into a form that tests the options in a single pass. The 
+	 * compiled selector won't be affected by the changes made to this selector or its 
+	 * options afterwards.
+	 * @return A selector that selects the same events as this selector
+	 * @see CompiledEventSelector
+	 */
+	public CompiledEventSelector compile()
+	{
+		return new CompiledEventSelector(getOptions());
+	}
 }
@@ -0,0 +1,266 @@
+package utopia.inception.event;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import utopia.inception.event.Event.Feature;
+
+/**
+ * PooledEvents are reusable events that are obtained from an eventPool and returned there 
+ * once they have been delivered. The features of the event are held in a fixed size array, 
+ * and they are provided through a view that doesn't allocate anything when it is used. The 
+ * event's feature set is only recreated when the event's features differ from the previous 
+ * ones, so an event that is repeatedly used for the same kind of happening doesn't produce 
+ * any garbage.<br> 
+ * The event is reference counted. Obtaining the event from the pool gives the first 
+ * reference, {@link #retain()} adds one and {@link #release()} gives one up. The ownership 
+ * rule is that each party releases the references it holds, and the party holding the last 
+ * reference releases the event back to the pool. The event must not be used after that. 
+ * A dispatcher that obtains an event therefore releases it once it has handed the event to 
+ * all of its recipients, no matter how many there are. EventListenerHandler retains the 
+ * events it queues and releases them once they have been delivered, so listeners shouldn't 
+ * hold on to the events they receive. 
+ * Subclasses may add their own data, which should be cleared in {@link #clear()}.
+ *
+ * @since 18.10.2026
+ * @see EventPool
+ */
+public class PooledEvent implements FeatureSetEvent
+{
+	// ATTRIBUTES	------------------------------
+	
+	private final Feature[] features;
+	private int featureAmount;
+	private final List<Feature> featureView;
+	private FeatureSet featureSet;
+	private boolean featureSetUpdated;
+	
+	EventPool<?> pool;
+	// The event is returned to the pool when the count reaches zero. Zero is never 
+	// decremented, so that the event is only returned once per use.
+	final AtomicInteger references;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new event without any features
+	 * @param featureCapacity How many features the event can have at most
+	 * @throws IllegalArgumentException If the capacity is negative
+	 */
+	public PooledEvent(int featureCapacity) throws IllegalArgumentException
+	{
+		if (featureCapacity < 0)
+			throw new IllegalArgumentException("Feature capacity can't be negative");
+		
+		// Initializes attributes
+		this.features = new Feature[featureCapacity];
+		this.featureAmount = 0;
+		this.featureView = new FeatureView();
+		this.featureSet = FeatureSet.EMPTY;
+		this.featureSetUpdated = true;
+		this.pool = null;
+		this.references = new AtomicInteger(0);
+	}
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	/**
+	 * @return A view to the features of this event. The view changes along with the event.
+	 */
+	@Override
+	public List<Feature> getFeatures()
+	{
+		return this.featureView;
+	}
+	
+	@Override
+	public FeatureSet getFeatureSet()
+	{
+		if (!this.featureSetUpdated)
+		{
+			// The previous set is kept if it still has the same features
+			if (!hasSameFeatures(this.featureSet))
+				this.featureSet = new FeatureSet(this.features);
+			this.featureSetUpdated = true;
+		}
+		
+		return this.featureSet;
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Adds a new feature to this event
+	 * @param feature The feature that is added
+	 * @throws IllegalArgumentException If the event can't hold any more features
+	 */
+	public void addFeature(Feature feature) throws IllegalArgumentException
+	{
+		if (feature == null || this.featureView.contains(feature))
+			return;
+		if (this.featureAmount == this.features.length)
+			throw new IllegalArgumentException("The event can't have more than " + 
+					this.features.length + " features");
+		
+		this.features[this.featureAmount ++] = feature;
+		this.featureSetUpdated = false;
+	}
+	
+	/**
+	 * Removes all features from this event
+	 */
+	public void clearFeatures()
+	{
+		for (int i = 0; i < this.featureAmount; i++)
+		{
+			this.features[i] = null;
+		}
+		this.featureAmount = 0;
+		this.featureSetUpdated = false;
+	}
+	
+	/**
+	 * Adds a reference to this event, so that the event isn't returned to its pool before 
+	 * the reference is released as well. Events that weren't obtained from a pool aren't 
+	 * affected.
+	 * @throws IllegalStateException If the event has already been returned to its pool
+	 */
+	public void retain() throws IllegalStateException
+	{
+		if (this.pool == null)
+			return;
+		
+		while (true)
+		{
+			int references = this.references.get();
+			if (references <= 0)
+				throw new IllegalStateException("A released event can't be retained");
+			if (this.references.compareAndSet(references, references + 1))
+				return;
+		}
+	}
+	
+	/**
+	 * Releases a reference to this event. Once the last reference has been released, the 
+	 * event is returned to the pool it was obtained from and it must not be used anymore. 
+	 * Events that weren't obtained from a pool aren't affected. Releasing an event that has 
+	 * already been returned does nothing, so the event is only returned once even if it is 
+	 * released too many times.
+	 */
+	public void release()
+	{
+		if (this.pool == null)
+			return;
+		
+		while (true)
+		{
+			int references = this.references.get();
+			if (references <= 0)
+				return;
+			if (this.references.compareAndSet(references, references - 1))
+			{
+				if (references == 1)
+					this.pool.release(this);
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * @return How many references to this event haven't been released yet. Always 0 for 
+	 * events that weren't obtained from a pool.
+	 */
+	public int getReferenceAmount()
+	{
+		return this.pool == null ? 0 : this.references.get();
+	}
+	
+	/**
+	 * Clears the event before it is returned to its pool. Subclasses should clear their own 
+	 * data here as well.
+	 */
+	protected void clear()
+	{
+		clearFeatures();
+	}
+	
+	/**
+	 * Retains the event if it is a pooled event
+	 * @param event An event
+	 */
+	static void retainIfPooled(Event event)
+	{
+		if (event instanceof PooledEvent)
+			((PooledEvent) event).retain();
+	}
+	
+	/**
+	 * Releases the event if it is a pooled event
+	 * @param event An event
+	 */
+	static void releaseIfPooled(Event event)
+	{
+		if (event instanceof PooledEvent)
+			((PooledEvent) event).release();
+	}
+	
+	private boolean hasSameFeatures(FeatureSet set)
+	{
+		if (set.size() != this.featureAmount)
+			return false;
+		
+		for (int i = 0; i < this.featureAmount; i++)
+		{
+			if (!set.contains(this.features[i]))
+				return false;
+		}
+		
+		return true;
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private class FeatureView extends AbstractList<Feature>
+	{
+		// IMPLEMENTED METHODS	---------------------
+		
+		@Override
+		public Feature get(int index)
+		{
+			if (index < 0 || index >= PooledEvent.this.featureAmount)
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + 
+						PooledEvent.this.featureAmount);
+			return PooledEvent.this.features[index];
+		}
+		
+		@Override
+		public int size()
+		{
+			return PooledEvent.this.featureAmount;
+		}
+		
+		// The default implementation would create an iterator
+		@Override
+		public int indexOf(Object o)
+		{
+			for (int i = 0; i < PooledEvent.this.featureAmount; i++)
+			{
+				if (PooledEvent.this.features[i].equals(o))
+					return i;
+			}
+			
+			return -1;
+		}
+		
+		@Override
+		public boolean contains(Object o)
+		{
+			return indexOf(o) >= 0;
+		}
+	}
+}
@@ -0,0 +1,251 @@
+package utopia.inception.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * PrioritizedEventQueue separates events to multiple lanes based on eventSelectors. Each lane 
+ * has a weight that defines how large a share of the delivered events it gets while there 
+ * are events in multiple lanes. The lanes are drained in turns, so that a lane may deliver 
+ * as many events as its weight in a single turn. This way the events in a high priority lane 
+ * don't need to wait behind a flood of less important events, while the less important 
+ * events are still delivered eventually.<br> 
+ * Each lane is an eventQueue of its own, which defines the lane's capacity and overflow 
+ * policy.
+ *
+ * @since 18.10.2026
+ */
+public class PrioritizedEventQueue implements EventBuffer
+{
+	// ATTRIBUTES	------------------------------
+	
+	// Lanes in the order their selectors are tested, the default lane is always the last
+	private volatile Lane[] lanes;
+	// Lanes in the order they are drained, from the heaviest to the lightest
+	private Lane[] drainOrder;
+	private int currentLane, remainingTurn;
+	private final ReentrantLock lock;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new queue with only the default lane
+	 * @param defaultLane The queue that receives the events no other lane selects
+	 * @param defaultWeight How many events the default lane can deliver in a single turn
+	 * @throws IllegalArgumentException If the queue is null or the weight is smaller than 1
+	 */
+	public PrioritizedEventQueue(EventQueue defaultLane, int defaultWeight) throws 
+			IllegalArgumentException
+	{
+		Lane lane = new Lane(null, defaultLane, defaultWeight);
+		
+		// Initializes attributes
+		this.lanes = new Lane[] {lane};
+		this.drainOrder = new Lane[] {lane};
+		this.currentLane = 0;
+		this.remainingTurn = lane.weight;
+		this.lock = new ReentrantLock();
+	}
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	/**
+	 * Adds the event to the first lane that selects it, or to the default lane if no other 
+	 * lane does
+	 */
+	@Override
+	public boolean offer(Event event)
+	{
+		if (event == null)
+			return false;
+		
+		Lane[] lanes = this.lanes;
+		for (int i = 0; i < lanes.length - 1; i++)
+		{
+			if (lanes[i].selector.selects(event))
+				return lanes[i].queue.offer(event);
+		}
+		
+		return lanes[lanes.length - 1].queue.offer(event);
+	}
+	
+	@Override
+	public int drainTo(List<? super Event> target, int maxAmount)
+	{
+		this.lock.lock();
+		try
+		{
+			int drained = 0;
+			int emptyLanes = 0;
+			
+			// Continues the previous turn, if it was left unfinished
+			while (drained < maxAmount && emptyLanes < this.drainOrder.length)
+			{
+				Lane lane = this.drainOrder[this.currentLane];
+				int amount = lane.queue.drainTo(target, Math.min(this.remainingTurn, 
+						maxAmount - drained));
+				drained += amount;
+				this.remainingTurn -= amount;
+				
+				if (amount == 0)
+					emptyLanes ++;
+				else
+					emptyLanes = 0;
+				
+				// The turn moves to the next lane once the lane has used its turn or has 
+				// nothing to deliver
+				if (amount == 0 || this.remainingTurn == 0 || lane.queue.isEmpty())
+					nextLane();
+			}
+			
+			return drained;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	@Override
+	public int size()
+	{
+		int size = 0;
+		for (Lane lane : this.lanes)
+		{
+			size += lane.queue.size();
+		}
+		return size;
+	}
+	
+	@Override
+	public long getDroppedAmount()
+	{
+		long amount = 0;
+		for (Lane lane : this.lanes)
+		{
+			amount += lane.queue.getDroppedAmount();
+		}
+		return amount;
+	}
+	
+	@Override
+	public long getCoalescedAmount()
+	{
+		long amount = 0;
+		for (Lane lane : this.lanes)
+		{
+			amount += lane.queue.getCoalescedAmount();
+		}
+		return amount;
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Adds a new lane to the queue. The lanes' selectors are tested in the order the lanes 
+	 * were added, so an event will be placed to the first lane that selects it.
+	 * @param selector The selector that defines which events are placed on the lane
+	 * @param queue The queue that holds the events on the lane
+	 * @param weight How many events the lane can deliver in a single turn
+	 * @throws IllegalArgumentException If the selector or queue is null or the weight is 
+	 * smaller than 1
+	 */
+	public void addLane(EventSelector selector, EventQueue queue, int weight) throws 
+			IllegalArgumentException
+	{
+		if (selector == null)
+			throw new IllegalArgumentException("Lane selector must be provided");
+		
+		Lane lane = new Lane(selector, queue, weight);
+		
+		this.lock.lock();
+		try
+		{
+			Lane[] lanes = this.lanes;
+			Lane[] newLanes = new Lane[lanes.length + 1];
+			System.arraycopy(lanes, 0, newLanes, 0, lanes.length - 1);
+			newLanes[lanes.length - 1] = lane;
+			newLanes[lanes.length] = lanes[lanes.length - 1];
+			
+			List<Lane> drainOrder = new ArrayList<>(Arrays.asList(newLanes));
+			Collections.sort(drainOrder, new LaneComparator());
+			
+			this.drainOrder = drainOrder.toArray(new Lane[drainOrder.size()]);
+			this.currentLane = 0;
+			this.remainingTurn = this.drainOrder[0].weight;
+			this.lanes = newLanes;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	/**
+	 * Adds a new lane to the queue. New events are dropped while the lane is full.
+	 * @param selector The selector that defines which events are placed on the lane
+	 * @param capacity How many events can be held in the lane at once
+	 * @param weight How many events the lane can deliver in a single turn
+	 * @throws IllegalArgumentException If the selector is null or the capacity or weight is 
+	 * smaller than 1
+	 * @see #addLane(EventSelector, EventQueue, int)
+	 */
+	public void addLane(EventSelector selector, int capacity, int weight) throws 
+			IllegalArgumentException
+	{
+		addLane(selector, new EventQueue(capacity), weight);
+	}
+	
+	/**
+	 * @return The amount of lanes in this queue, including the default lane
+	 */
+	public int getLaneAmount()
+	{
+		return this.lanes.length;
+	}
+	
+	// Expects the lock to be held
+	private void nextLane()
+	{
+		this.currentLane = (this.currentLane + 1) % this.drainOrder.length;
+		this.remainingTurn = this.drainOrder[this.currentLane].weight;
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class Lane
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private EventSelector selector;
+		private EventQueue queue;
+		private int weight;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public Lane(EventSelector selector, EventQueue queue, int weight) throws 
+				IllegalArgumentException
+		{
+			if (queue == null)
+				throw new IllegalArgumentException("Lane queue must be provided");
+			if (weight < 1)
+				throw new IllegalArgumentException("Lane weight must be positive");
+			
+			this.selector = selector;
+			this.queue = queue;
+			this.weight = weight;
+		}
+	}
+	
+	private static class LaneComparator implements Comparator<Lane>
+	{
+		@Override
+		public int compare(Lane o1, Lane o2)
+		{
+			return Integer.compare(o2.weight, o1.weight);
+		}
+	}
+}
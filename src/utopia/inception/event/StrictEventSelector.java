@@ -1,14 +1,25 @@
 package utopia.inception.event;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 import utopia.inception.event.Event.Feature;
 
 /**
  * StrictEventSelectors select only certain events based on their features. 
  * Selectors can be used for picking the events that interest the user. Initially the selector 
- * accepts all the events. The required features should be added separately.
+ * accepts all the events. The required features should be added separately.<br> 
+ * When the selector has to test the features of an event one by one, it keeps statistics of 
+ * how often each test rejects the event. The tests are periodically reordered so that the 
+ * tests most likely to reject an event are made first. Only every 
+ * {@link #SAMPLING_INTERVAL}th evaluation is counted in the statistics, so the other 
+ * evaluations don't need any synchronization. A sampled evaluation is made without 
+ * collecting statistics if another thread is already collecting them.<br> 
+ * The features are published as an immutable snapshot, so features can be added while 
+ * other threads are using the selector.
  * @author Mikko Hilpinen
  * @since 17.11.2014
  */
@@ -16,7 +27,24 @@ public class StrictEventSelector implements EventSelector
 {
 	// ATTRIBUTES	-------------------------------------
 	
-	private final List<Feature> requiredFeatures, unnacceptableFeatures;
+	/**
+	 * How many evaluations are made for each evaluation that is counted in the statistics
+	 */
+	public static final int SAMPLING_INTERVAL = 16;
+	/**
+	 * How many sampled evaluations are made between the reordering of the feature tests
+	 */
+	public static final int REORDERING_INTERVAL = 64;
+	
+	// Replaced whenever a feature is added or the tests are reordered
+	private volatile Criteria criteria;
+	// Counts the evaluations for sampling. Lost updates only affect which calls are sampled.
+	private int evaluationCounter;
+	
+	// The criteria are only replaced and the statistics only modified while the lock is held
+	private final ReentrantLock statisticsLock;
+	private long evaluationAmount;
+	private int evaluationsSinceReordering;
 	
 	
 	// CONSTRUCTOR	-------------------------------------
@@ -28,8 +56,9 @@ public class StrictEventSelector implements EventSelector
 	public StrictEventSelector()
 	{
 		// Initializes attributes
-		this.requiredFeatures = new ArrayList<Feature>();
-		this.unnacceptableFeatures = new ArrayList<Feature>();
+		this.criteria = new Criteria(new Feature[0], new Feature[0], new FeatureTest[0]);
+		this.evaluationCounter = 0;
+		this.statisticsLock = new ReentrantLock();
 	}
 
 	
@@ -42,9 +71,7 @@ public class StrictEventSelector implements EventSelector
 	 */
 	public void addRequiredFeature(Feature feature)
 	{
-		if (feature != null && !this.requiredFeatures.contains(feature) && 
-				!this.unnacceptableFeatures.contains(feature))
-			this.requiredFeatures.add(feature);
+		addFeature(feature, true);
 	}
 	
 	/**
@@ -53,30 +80,226 @@ public class StrictEventSelector implements EventSelector
 	 */
 	public void addUnacceptableFeature(Feature feature)
 	{
-		if (feature != null && !this.unnacceptableFeatures.contains(feature) && 
-				!this.requiredFeatures.contains(feature))
-			this.unnacceptableFeatures.add(feature);
+		addFeature(feature, false);
 	}
 	
 	@Override
 	public boolean selects(Event event)
 	{
-		// Checks if the event has all the required features
+		// Feature sets can be compared directly
+		if (event instanceof FeatureSetEvent)
+			return selects(((FeatureSetEvent) event).getFeatureSet());
+		
+		// Checks if the event has all the required features and none of the unacceptable 
+		// ones, starting from the test most likely to fail
 		List<Feature> features = event.getFeatures();
 		
-		for (Feature requirement : this.requiredFeatures)
+		// Only a sample of the evaluations is counted, and only if no other thread is 
+		// counting at the same time
+		if (++ this.evaluationCounter % SAMPLING_INTERVAL != 0 || 
+				!this.statisticsLock.tryLock())
 		{
-			if (!features.contains(requirement))
-				return false;
+			for (FeatureTest test : this.criteria.tests)
+			{
+				if (features.contains(test.feature) != test.required)
+					return false;
+			}
+			return true;
 		}
 		
-		for (Feature unacceptable : this.unnacceptableFeatures)
+		try
+		{
+			// The criteria can't be replaced while the lock is held
+			FeatureTest[] tests = this.criteria.tests;
+			
+			boolean selected = true;
+			for (FeatureTest test : tests)
+			{
+				test.testAmount ++;
+				if (features.contains(test.feature) != test.required)
+				{
+					test.rejectionAmount ++;
+					selected = false;
+					break;
+				}
+			}
+			
+			this.evaluationAmount ++;
+			this.evaluationsSinceReordering ++;
+			if (this.evaluationsSinceReordering >= REORDERING_INTERVAL)
+				reorderTests();
+			
+			return selected;
+		}
+		finally { this.statisticsLock.unlock(); }
+	}
+	
+	
+	/**
+	 * Tells whether this selector would select an event with the given features
+	 * @param features The features of an event
+	 * @return Would the selector select the event
+	 */
+	public boolean selects(FeatureSet features)
+	{
+		Criteria criteria = this.criteria;
+		return features.containsAll(criteria.requiredFeatureSet) && 
+				!features.intersects(criteria.unacceptableFeatureSet);
+	}
+	
+	/**
+	 * @return The features an event must have in order to be selected, as a feature set
+	 */
+	public FeatureSet getRequiredFeatureSet()
+	{
+		return this.criteria.requiredFeatureSet;
+	}
+	
+	/**
+	 * @return The features that make an event unacceptable for selection, as a feature set
+	 */
+	public FeatureSet getUnacceptableFeatureSet()
+	{
+		return this.criteria.unacceptableFeatureSet;
+	}
+	
+	
+	/**
+	 * @return How many sampled events have been tested by comparing their features one by 
+	 * one
+	 * @see #SAMPLING_INTERVAL
+	 */
+	public long getEvaluationAmount()
+	{
+		this.statisticsLock.lock();
+		try
 		{
-			if (features.contains(unacceptable))
-				return false;
+			return this.evaluationAmount;
 		}
+		finally { this.statisticsLock.unlock(); }
+	}
+	
+	/**
+	 * @return How many feature tests have been made for the sampled events in total. 
+	 * Compared to the evaluation amount, this tells how expensive the selector is to use.
+	 */
+	public long getTestAmount()
+	{
+		this.statisticsLock.lock();
+		try
+		{
+			long amount = 0;
+			for (FeatureTest test : this.criteria.tests)
+			{
+				amount += test.testAmount;
+			}
+			return amount;
+		}
+		finally { this.statisticsLock.unlock(); }
+	}
+	
+	/**
+	 * Collects statistics about the feature tests. The statistics are reset whenever a new 
+	 * feature is added to the selector.
+	 * @return Statistics of each feature test, in the order the tests are currently made
+	 */
+	public List<FeatureTestStatistics> getStatistics()
+	{
+		this.statisticsLock.lock();
+		try
+		{
+			FeatureTest[] tests = this.criteria.tests;
+			List<FeatureTestStatistics> statistics = new ArrayList<>(tests.length);
+			for (FeatureTest test : tests)
+			{
+				statistics.add(new FeatureTestStatistics(test.feature, test.required, 
+						test.testAmount, test.rejectionAmount));
+			}
+			
+			return Collections.unmodifiableList(statistics);
+		}
+		finally { this.statisticsLock.unlock(); }
+	}
+	
+	private void addFeature(Feature feature, boolean required)
+	{
+		if (feature == null)
+			return;
 		
-		return true;
+		this.statisticsLock.lock();
+		try
+		{
+			Criteria criteria = this.criteria;
+			if (criteria.contains(feature))
+				return;
+			
+			Feature[] requiredFeatures = criteria.requiredFeatures;
+			Feature[] unacceptableFeatures = criteria.unacceptableFeatures;
+			if (required)
+				requiredFeatures = append(requiredFeatures, feature);
+			else
+				unacceptableFeatures = append(unacceptableFeatures, feature);
+			
+			// The tests are recreated, which also resets the statistics
+			FeatureTest[] tests = new FeatureTest[requiredFeatures.length + 
+					unacceptableFeatures.length];
+			int i = 0;
+			for (Feature requiredFeature : requiredFeatures)
+			{
+				tests[i ++] = new FeatureTest(requiredFeature, true);
+			}
+			for (Feature unacceptableFeature : unacceptableFeatures)
+			{
+				tests[i ++] = new FeatureTest(unacceptableFeature, false);
+			}
+			
+			this.criteria = new Criteria(requiredFeatures, unacceptableFeatures, tests);
+			this.evaluationAmount = 0;
+			this.evaluationsSinceReordering = 0;
+		}
+		finally { this.statisticsLock.unlock(); }
+	}
+	
+	// Expects the statistics lock to be held
+	private void reorderTests()
+	{
+		this.evaluationsSinceReordering = 0;
+		
+		// The rejection rates are updated from the tests made since the last reordering. 
+		// Tests that weren't made keep their previous rate.
+		Criteria criteria = this.criteria;
+		FeatureTest[] ordered = criteria.tests.clone();
+		for (FeatureTest test : ordered)
+		{
+			long testAmount = test.testAmount - test.lastTestAmount;
+			if (testAmount > 0)
+				test.rejectionRate = (test.rejectionAmount - test.lastRejectionAmount) / 
+						(double) testAmount;
+			test.lastTestAmount = test.testAmount;
+			test.lastRejectionAmount = test.rejectionAmount;
+		}
+		
+		// Insertion sort keeps the order stable for tests with equal rates
+		for (int i = 1; i < ordered.length; i++)
+		{
+			FeatureTest test = ordered[i];
+			int j = i - 1;
+			while (j >= 0 && ordered[j].rejectionRate < test.rejectionRate)
+			{
+				ordered[j + 1] = ordered[j];
+				j --;
+			}
+			ordered[j + 1] = test;
+		}
+		
+		this.criteria = new Criteria(criteria, ordered);
+	}
+	
+	private static Feature[] append(Feature[] features, Feature feature)
+	{
+		Feature[] appended = Arrays.copyOf(features, features.length + 1);
+		appended[features.length] = feature;
+		return appended;
 	}
 	
 	
@@ -89,4 +312,162 @@ public class StrictEventSelector implements EventSelector
 	{
 		return new StrictEventSelector();
 	}
+	
+	
+	// SUBCLASSES	---------------------------------------
+	
+	/**
+	 * FeatureTestStatistics describe how a single feature test of a selector has performed
+	 *
+	 * @since 18.10.2026
+	 */
+	public static class FeatureTestStatistics
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final Feature feature;
+		private final boolean required;
+		private final long testAmount, rejectionAmount;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		private FeatureTestStatistics(Feature feature, boolean required, long testAmount, 
+				long rejectionAmount)
+		{
+			this.feature = feature;
+			this.required = required;
+			this.testAmount = testAmount;
+			this.rejectionAmount = rejectionAmount;
+		}
+		
+		
+		// IMPLEMENTED METHODS	---------------------
+		
+		@Override
+		public String toString()
+		{
+			return (this.required ? "requires " : "refuses ") + this.feature + ": " + 
+					this.rejectionAmount + "/" + this.testAmount + " rejected";
+		}
+		
+		
+		// ACCESSORS	-----------------------------
+		
+		/**
+		 * @return The feature that is tested
+		 */
+		public Feature getFeature()
+		{
+			return this.feature;
+		}
+		
+		/**
+		 * @return Is the feature required (true) or unacceptable (false)
+		 */
+		public boolean isRequired()
+		{
+			return this.required;
+		}
+		
+		/**
+		 * @return How many times the feature has been tested
+		 */
+		public long getTestAmount()
+		{
+			return this.testAmount;
+		}
+		
+		/**
+		 * @return How many times the test has rejected an event
+		 */
+		public long getRejectionAmount()
+		{
+			return this.rejectionAmount;
+		}
+		
+		
+		// OTHER METHODS	-------------------------
+		
+		/**
+		 * @return How large a portion of the tested events the test has rejected
+		 */
+		public double getRejectionRate()
+		{
+			if (this.testAmount == 0)
+				return 0;
+			return this.rejectionAmount / (double) this.testAmount;
+		}
+	}
+	
+	// An immutable snapshot of the selector's features
+	private static class Criteria
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final Feature[] requiredFeatures, unacceptableFeatures;
+		private final FeatureSet requiredFeatureSet, unacceptableFeatureSet;
+		// The tests are in the order they are made
+		private final FeatureTest[] tests;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public Criteria(Feature[] requiredFeatures, Feature[] unacceptableFeatures, 
+				FeatureTest[] tests)
+		{
+			this.requiredFeatures = requiredFeatures;
+			this.unacceptableFeatures = unacceptableFeatures;
+			this.requiredFeatureSet = new FeatureSet(requiredFeatures);
+			this.unacceptableFeatureSet = new FeatureSet(unacceptableFeatures);
+			this.tests = tests;
+		}
+		
+		public Criteria(Criteria criteria, FeatureTest[] reorderedTests)
+		{
+			this.requiredFeatures = criteria.requiredFeatures;
+			this.unacceptableFeatures = criteria.unacceptableFeatures;
+			this.requiredFeatureSet = criteria.requiredFeatureSet;
+			this.unacceptableFeatureSet = criteria.unacceptableFeatureSet;
+			this.tests = reorderedTests;
+		}
+		
+		
+		// OTHER METHODS	-------------------------
+		
+		public boolean contains(Feature feature)
+		{
+			for (FeatureTest test : this.tests)
+			{
+				if (test.feature.equals(feature))
+					return true;
+			}
+			
+			return false;
+		}
+	}
+	
+	private static class FeatureTest
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final Feature feature;
+		private final boolean required;
+		private long testAmount, rejectionAmount, lastTestAmount, lastRejectionAmount;
+		private double rejectionRate;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public FeatureTest(Feature feature, boolean required)
+		{
+			this.feature = feature;
+			this.required = required;
+			this.testAmount = 0;
+			this.rejectionAmount = 0;
+			this.lastTestAmount = 0;
+			this.lastRejectionAmount = 0;
+			this.rejectionRate = 0;
+		}
+	}
 }
@@ -0,0 +1,303 @@
+package utopia.inception.handling;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GridHandledIndex divides a two dimensional space into square cells and keeps track of the 
+ * cell each handled is in, so that the handleds within a certain area can be found without 
+ * going through the others. Only the cells that contain handleds are stored. The subclasses 
+ * define the position of each handled.
+ *
+ * @since 18.10.2026
+ * @param <T> The type of handled indexed
+ */
+public abstract class GridHandledIndex<T extends Handled> extends 
+		HandledIndex<T, GridHandledIndex.Area>
+{
+	// ATTRIBUTES	------------------------------
+	
+	private final double cellSize;
+	private final Map<Long, Set<T>> cells;
+	// The cells are remembered so that the handleds can be found after they move
+	private final Map<T, Long> handledCells;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new empty index
+	 * @param cellSize The width and height of a single cell. Areas that are about the size of 
+	 * a cell are the fastest to query.
+	 * @throws IllegalArgumentException If the cell size is not positive
+	 */
+	public GridHandledIndex(double cellSize) throws IllegalArgumentException
+	{
+		if (!(cellSize > 0))
+			throw new IllegalArgumentException("Cell size must be positive");
+		
+		// Initializes attributes
+		this.cellSize = cellSize;
+		this.cells = new HashMap<>();
+		this.handledCells = new HashMap<>();
+	}
+	
+	
+	// ABSTRACT METHODS	-------------------------
+	
+	/**
+	 * @param h A handled
+	 * @return The x-coordinate of the handled's position
+	 */
+	protected abstract double getX(T h);
+	
+	/**
+	 * @param h A handled
+	 * @return The y-coordinate of the handled's position
+	 */
+	protected abstract double getY(T h);
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	@Override
+	protected void add(T h)
+	{
+		Long cell = getCell(getCellIndex(getX(h)), getCellIndex(getY(h)));
+		this.handledCells.put(h, cell);
+		
+		Set<T> handleds = this.cells.get(cell);
+		if (handleds == null)
+		{
+			handleds = new LinkedHashSet<>();
+			this.cells.put(cell, handleds);
+		}
+		handleds.add(h);
+	}
+	
+	@Override
+	protected boolean remove(T h)
+	{
+		Long cell = this.handledCells.remove(h);
+		if (cell == null)
+			return false;
+		
+		Set<T> handleds = this.cells.get(cell);
+		handleds.remove(h);
+		if (handleds.isEmpty())
+			this.cells.remove(cell);
+		
+		return true;
+	}
+	
+	@Override
+	protected void clear()
+	{
+		this.cells.clear();
+		this.handledCells.clear();
+	}
+	
+	@Override
+	protected int countCandidates(Area query, int limit)
+	{
+		int amount = 0;
+		if (isScannedByCell(query))
+		{
+			// The counters are longs so that the loops end at the border cells as well
+			int maxX = getCellIndex(query.maxX);
+			int minY = getCellIndex(query.minY);
+			int maxY = getCellIndex(query.maxY);
+			for (long x = getCellIndex(query.minX); x <= maxX; x++)
+			{
+				for (long y = minY; y <= maxY; y++)
+				{
+					Set<T> handleds = this.cells.get(getCell((int) x, (int) y));
+					if (handleds != null)
+					{
+						amount += handleds.size();
+						if (amount >= limit)
+							return limit;
+					}
+				}
+			}
+		}
+		else
+		{
+			for (Map.Entry<Long, Set<T>> entry : this.cells.entrySet())
+			{
+				if (isInArea(entry.getKey(), query))
+				{
+					amount += entry.getValue().size();
+					if (amount >= limit)
+						return limit;
+				}
+			}
+		}
+		
+		return amount;
+	}
+	
+	@Override
+	protected void findCandidates(Area query, Collection<? super T> target)
+	{
+		if (isScannedByCell(query))
+		{
+			// The counters are longs so that the loops end at the border cells as well
+			int maxX = getCellIndex(query.maxX);
+			int minY = getCellIndex(query.minY);
+			int maxY = getCellIndex(query.maxY);
+			for (long x = getCellIndex(query.minX); x <= maxX; x++)
+			{
+				for (long y = minY; y <= maxY; y++)
+				{
+					Set<T> handleds = this.cells.get(getCell((int) x, (int) y));
+					if (handleds != null)
+						target.addAll(handleds);
+				}
+			}
+		}
+		else
+		{
+			for (Map.Entry<Long, Set<T>> entry : this.cells.entrySet())
+			{
+				if (isInArea(entry.getKey(), query))
+					target.addAll(entry.getValue());
+			}
+		}
+	}
+	
+	@Override
+	protected boolean matches(T h, Area query)
+	{
+		return query.contains(getX(h), getY(h));
+	}
+	
+	
+	// ACCESSORS	---------------------------------
+	
+	/**
+	 * @return The width and height of a single cell
+	 */
+	public double getCellSize()
+	{
+		return this.cellSize;
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * @param minX The smallest accepted x-coordinate (inclusive)
+	 * @param minY The smallest accepted y-coordinate (inclusive)
+	 * @param maxX The largest accepted x-coordinate (inclusive)
+	 * @param maxY The largest accepted y-coordinate (inclusive)
+	 * @return A filter that accepts the handleds positioned within the given area
+	 */
+	public HandledFilter<T> within(double minX, double minY, double maxX, double maxY)
+	{
+		return createFilter(new Area(minX, minY, maxX, maxY));
+	}
+	
+	/**
+	 * @return How many cells currently contain handleds
+	 */
+	public int getOccupiedCellAmount()
+	{
+		return this.cells.size();
+	}
+	
+	private int getCellIndex(double coordinate)
+	{
+		// Coordinates outside the integer range are placed in the border cells
+		return (int) Math.floor(coordinate / this.cellSize);
+	}
+	
+	private static Long getCell(int x, int y)
+	{
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+	
+	private boolean isInArea(long cell, Area area)
+	{
+		int x = (int) (cell >> 32);
+		int y = (int) cell;
+		return x >= getCellIndex(area.minX) && x <= getCellIndex(area.maxX) && 
+				y >= getCellIndex(area.minY) && y <= getCellIndex(area.maxY);
+	}
+	
+	// Large areas are cheaper to check by going through the occupied cells instead
+	private boolean isScannedByCell(Area area)
+	{
+		if (!area.isValid())
+			return false;
+		
+		long width = (long) getCellIndex(area.maxX) - getCellIndex(area.minX) + 1;
+		long height = (long) getCellIndex(area.maxY) - getCellIndex(area.minY) + 1;
+		int occupied = this.cells.size();
+		return width <= occupied && height <= occupied && width * height <= occupied;
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	/**
+	 * Area is a query that matches the handleds positioned within a rectangle
+	 *
+	 * @since 18.10.2026
+	 */
+	public static class Area
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final double minX, minY, maxX, maxY;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		/**
+		 * Creates a new area
+		 * @param minX The smallest accepted x-coordinate (inclusive)
+		 * @param minY The smallest accepted y-coordinate (inclusive)
+		 * @param maxX The largest accepted x-coordinate (inclusive)
+		 * @param maxY The largest accepted y-coordinate (inclusive)
+		 */
+		public Area(double minX, double minY, double maxX, double maxY)
+		{
+			this.minX = minX;
+			this.minY = minY;
+			this.maxX = maxX;
+			this.maxY = maxY;
+		}
+		
+		
+		// IMPLEMENTED METHODS	---------------------
+		
+		@Override
+		public String toString()
+		{
+			return "(" + this.minX + ", " + this.minY + ") - (" + this.maxX + ", " + 
+					this.maxY + ")";
+		}
+		
+		
+		// OTHER METHODS	-------------------------
+		
+		/**
+		 * @param x An x-coordinate
+		 * @param y An y-coordinate
+		 * @return Is the position within this area
+		 */
+		public boolean contains(double x, double y)
+		{
+			return x >= this.minX && x <= this.maxX && y >= this.minY && y <= this.maxY;
+		}
+		
+		private boolean isValid()
+		{
+			return this.minX <= this.maxX && this.minY <= this.maxY;
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package utopia.inception.handling;
+
+/**
+ * HandledFilters define which handleds are affected by an operation. Filters created by a 
+ * handledIndex allow the handler to find the accepted handleds without going through all 
+ * of its handleds.
+ *
+ * @since 18.10.2026
+ * @param <T> The type of handled the filter is used with
+ * @see Handler#addIndex(HandledIndex)
+ * @see HandledIndex#createFilter(Object)
+ */
+public interface HandledFilter<T extends Handled>
+{
+	/**
+	 * @param h A handled
+	 * @return Does the filter accept the handled
+	 */
+	public boolean accepts(T h);
+}
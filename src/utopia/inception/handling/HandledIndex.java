@@ -0,0 +1,166 @@
+package utopia.inception.handling;
+
+import java.util.Collection;
+
+/**
+ * HandledIndexes keep track of the handleds of a handler based on some of their attributes, 
+ * so that the handleds matching a query can be found without going through all of them. 
+ * The handler keeps its indexes up to date as handleds are added and removed. If an indexed 
+ * attribute of a handled changes, {@link Handler#updateIndexes(Handled)} should be called. 
+ * An index should only be used by a single handler. The index is only accessed while the 
+ * handler's handleds are locked, so the implementations don't need to be thread safe.
+ *
+ * @since 18.10.2026
+ * @param <T> The type of handled indexed
+ * @param <Q> The type of query used for finding the handleds
+ * @see Handler#addIndex(HandledIndex)
+ */
+public abstract class HandledIndex<T extends Handled, Q>
+{
+	// ABSTRACT METHODS	-------------------------
+	
+	/**
+	 * Adds a handled to the index
+	 * @param h The handled that is added
+	 */
+	protected abstract void add(T h);
+	
+	/**
+	 * Removes a handled from the index. The handled's attributes may have changed since it 
+	 * was indexed.
+	 * @param h The handled that is removed
+	 * @return Was the handled in the index
+	 */
+	protected abstract boolean remove(T h);
+	
+	/**
+	 * Removes all the handleds from the index
+	 */
+	protected abstract void clear();
+	
+	/**
+	 * Counts the candidates the index would provide for a query. Since this is used for 
+	 * choosing between indexes, the counting can be stopped once the limit is reached.
+	 * @param query The query
+	 * @param limit The amount after which the counting can be stopped
+	 * @return How many candidates the index would provide for the query, at most the limit
+	 */
+	protected abstract int countCandidates(Q query, int limit);
+	
+	/**
+	 * Finds the handleds that may match a query. The candidates may contain handleds that 
+	 * don't match the query, but all the matching handleds must be included.
+	 * @param query The query
+	 * @param target The collection the candidates are added to
+	 */
+	protected abstract void findCandidates(Q query, Collection<? super T> target);
+	
+	/**
+	 * @param h An indexed handled
+	 * @param query A query
+	 * @return Does the handled match the query
+	 */
+	protected abstract boolean matches(T h, Q query);
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Creates a filter that accepts the handleds matching the query. When a handler that 
+	 * uses this index handles the objects with the filter, the index is used for finding 
+	 * the accepted handleds.
+	 * @param query The query
+	 * @return A filter that accepts the handleds matching the query
+	 */
+	public HandledFilter<T> createFilter(Q query)
+	{
+		return new IndexFilter(query);
+	}
+	
+	/**
+	 * Re-indexes a handled whose attributes may have changed. Handleds that aren't in the 
+	 * index are ignored.
+	 * @param h The handled that is updated
+	 */
+	protected void update(T h)
+	{
+		if (remove(h))
+			add(h);
+	}
+	
+	/**
+	 * Counts the candidates the index would provide for a filter
+	 * @param filter A filter
+	 * @param limit The amount after which the counting can be stopped
+	 * @return How many candidates the index would provide, at most the limit. -1 if the 
+	 * filter wasn't created by this index.
+	 */
+	int countCandidates(HandledFilter<?> filter, int limit)
+	{
+		IndexFilter indexFilter = getOwnFilter(filter);
+		if (indexFilter == null)
+			return -1;
+		
+		return countCandidates(indexFilter.query, limit);
+	}
+	
+	/**
+	 * Finds the handleds that may be accepted by a filter
+	 * @param filter A filter created by this index
+	 * @param target The collection the candidates are added to
+	 */
+	void findCandidates(HandledFilter<?> filter, Collection<? super T> target)
+	{
+		IndexFilter indexFilter = getOwnFilter(filter);
+		if (indexFilter != null)
+			findCandidates(indexFilter.query, target);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private IndexFilter getOwnFilter(HandledFilter<?> filter)
+	{
+		if (filter instanceof HandledIndex<?, ?>.IndexFilter)
+		{
+			HandledIndex<?, ?>.IndexFilter indexFilter = (HandledIndex<?, ?>.IndexFilter) filter;
+			if (indexFilter.getIndex() == this)
+				return (IndexFilter) indexFilter;
+		}
+		
+		return null;
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private class IndexFilter implements HandledFilter<T>
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final Q query;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public IndexFilter(Q query)
+		{
+			this.query = query;
+		}
+		
+		
+		// IMPLEMENTED METHODS	---------------------
+		
+		@Override
+		public boolean accepts(T h)
+		{
+			return matches(h, this.query);
+		}
+		
+		
+		// OTHER METHODS	-------------------------
+		
+		private HandledIndex<T, Q> getIndex()
+		{
+			return HandledIndex.this;
+		}
+	}
+}
@@ -3,9 +3,9 @@ package utopia.inception.handling;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
@@ -27,11 +27,25 @@ public abstract class Handler<T extends Handled> implements Handled
 	private static final int REMOVE = 2;
 	private static final int CLEAR = 3;
 	
-	private Map<HandlingOperation, List<T>> operationLists = new HashMap<>();
+	private Map<HandlingOperation, List<T>> operationLists = new EnumMap<>(
+			HandlingOperation.class);
 	private StateOperator isDeadOperator = null;
 	private HandlingStateOperatorRelay handlingOperators;
 	
-	private Map<HandlingOperation, ReentrantLock> locks = new HashMap<>();
+	// Thread confined handlers don't use locks at all
+	private Map<HandlingOperation, ReentrantLock> locks = null;
+	private Thread ownerThread = null;
+	
+	// The amount of handleds of each class in the order of the groups, when the handleds are 
+	// grouped by class
+	private LinkedHashMap<Class<?>, Integer> classAmounts = null;
+	
+	// Dead handleds are searched for gradually when the handling doesn't go through them
+	private int sweepBudget = 16;
+	private int sweepIndex = 0;
+	
+	// The secondary indexes are kept up to date with the handleds
+	private List<HandledIndex<T, ?>> indexes = new ArrayList<>();
 	
 	
 	// CONSTRUCTOR	-----------------------------------------------------
@@ -42,8 +56,24 @@ public abstract class Handler<T extends Handled> implements Handled
 	 * @see HandlerRelay#add(Handled...)
 	 */
 	public Handler()
+	{
+		this(false);
+	}
+	
+	/**
+	 * Creates a new Handler. Remember to add the handler to the handlerRelay(s)
+	 * @param threadConfined Is the handler only used by a single thread. A thread confined 
+	 * handler doesn't use any locking. When assertions are enabled, the handler checks that 
+	 * it is always modified and handled by the same thread.
+	 * @see HandlerRelay#addHandler(Handler...)
+	 * @see HandlerRelay#add(Handled...)
+	 */
+	public Handler(boolean threadConfined)
 	{
 		// Initializes attributes
+		if (!threadConfined)
+			this.locks = new EnumMap<>(HandlingOperation.class);
+		
 		initialize();
 	}
 	
@@ -97,6 +127,66 @@ public abstract class Handler<T extends Handled> implements Handled
 				getOperationList(HandlingOperation.ADD).isEmpty();
 	}
 	
+	/**
+	 * @return Is the handler only used by a single thread (and doesn't use locking)
+	 */
+	public boolean isThreadConfined()
+	{
+		return this.locks == null;
+	}
+	
+	/**
+	 * @return The thread that first accessed this thread confined handler. Null if the 
+	 * handler isn't thread confined or hasn't been accessed yet.
+	 */
+	public Thread getOwnerThread()
+	{
+		return this.ownerThread;
+	}
+	
+	/**
+	 * @return Are the handleds kept in groups by their class
+	 */
+	public boolean isGroupedByClass()
+	{
+		return this.classAmounts != null;
+	}
+	
+	/**
+	 * Changes whether the handleds are kept in groups by their class. When they are, all the 
+	 * handleds of one class are handled before the handleds of the next class. Within a 
+	 * group, the handleds are handled in the order they were added. Grouping only affects 
+	 * the handling order, it doesn't make the handling itself any faster. Adding a handled 
+	 * to a grouped handler takes time linear to the amount of handleds, since the handled 
+	 * is inserted in the middle of the list. The groups are kept in the order their classes 
+	 * first appeared. Once all the handleds of a class have been removed, the class loses 
+	 * its place and its next handled starts a new group at the end.
+	 * @param grouped Should the handleds be grouped by their class
+	 */
+	public void setGroupedByClass(boolean grouped)
+	{
+		lock(HandlingOperation.HANDLE);
+		try
+		{
+			if (grouped && this.classAmounts == null)
+			{
+				this.classAmounts = new LinkedHashMap<>();
+				for (T h : getOperationList(HandlingOperation.HANDLE))
+				{
+					Integer amount = this.classAmounts.get(h.getClass());
+					this.classAmounts.put(h.getClass(), amount == null ? 1 : amount + 1);
+				}
+				Collections.sort(getOperationList(HandlingOperation.HANDLE), 
+						new ClassComparator(null));
+				// The sorting moves the handleds, so the sweep starts over
+				this.sweepIndex = 0;
+			}
+			else if (!grouped)
+				this.classAmounts = null;
+		}
+		finally { unlock(HandlingOperation.HANDLE); }
+	}
+	
 	/**
 	 * @return The stateOperator that defines whether the objects in this handler should 
 	 * be handled
@@ -140,8 +230,9 @@ public abstract class Handler<T extends Handled> implements Handled
 	}
 	
 	/**
-	 * Goes through all the handleds and calls the operator's handleObject() 
-	 * -method for the objects
+	 * Goes through the handleds and calls the operator's handleObject() 
+	 * -method for the objects. The iteration stops once the method returns false. The 
+	 * handleds that weren't reached are checked for dead objects gradually.
 	 * @param operator The operation done for each handled. Null if the default 
 	 * handleObject(Handled) should be used
 	 * @param checkHandlingState If this is true, the object's handling state affects whether 
@@ -149,51 +240,212 @@ public abstract class Handler<T extends Handled> implements Handled
 	 * will be called for each object in the handler
 	 * @see #handleObject(Handled)
 	 * @see HandlingOperator
+	 * @see #setSweepBudget(int)
 	 */
 	protected void handleObjects(HandlingOperator operator, boolean checkHandlingState)
 	{	
 		updateStatus();
 		
-		// Goes through all the handleds
+		// Goes through the handleds until handleObject returns false
 		boolean handlingskipped = false;
-		this.locks.get(HandlingOperation.HANDLE).lock();
+		lock(HandlingOperation.HANDLE);
 
 		try
 		{
-			Iterator<T> iterator = this.operationLists.get(HandlingOperation.HANDLE).iterator();
+			List<T> handleds = this.operationLists.get(HandlingOperation.HANDLE);
 			
-			while (iterator.hasNext())
+			for (int i = 0; i < handleds.size(); i++)
 			{
-				T h = iterator.next();
+				T h = handleds.get(i);
 				
 				if (!h.getIsDeadStateOperator().getState())
 				{	
-					// Doesn't handle objects after handleobjects has returned 
-					// false. Continues through the cycle though to remove dead 
-					// handleds
 					// The object's state also defines whether it will be handled at all
-					if (!handlingskipped && (!checkHandlingState || (h.getHandlingOperators() 
-							!= null && h.getHandlingOperators().getShouldBeHandledOperator(
-							getHandlerType()).getState())))
+					if (!checkHandlingState || shouldBeHandled(h))
 					{
-						if (operator == null)
+						if (operator == null ? !handleObject(h) : !operator.handleObject(h))
 						{
-							if (!handleObject(h))
-								handlingskipped = true;
-						}
-						else if (!operator.handleObject(h))
 							handlingskipped = true;
+							break;
+						}
 					}
 				}
 				else
 					removeHandled(h);
 			}
+			
+			// The handleds that weren't reached are checked for dead objects gradually
+			if (handlingskipped && this.sweepBudget > 0)
+				sweepDeadHandleds(this.sweepBudget);
+		}
+		finally { unlock(HandlingOperation.HANDLE); }
+		
+		updateStatus();
+	}
+	
+	/**
+	 * Handles a single handled in this handler
+	 * @param h The handled that is handled
+	 * @param operator The operation done for the handled. Null if the default 
+	 * handleObject(Handled) should be used
+	 * @param checkHandlingState If this is true, the object's handling state affects whether 
+	 * the object is handled
+	 * @return Was the handled handled. False if the handled was dead or its handling state 
+	 * prevented the handling.
+	 */
+	protected boolean handleSingleObject(T h, HandlingOperator operator, 
+			boolean checkHandlingState)
+	{
+		if (h == null)
+			return false;
+		
+		lock(HandlingOperation.HANDLE);
+		try
+		{
+			if (h.getIsDeadStateOperator().getState())
+			{
+				removeHandled(h);
+				return false;
+			}
+			if (checkHandlingState && !shouldBeHandled(h))
+				return false;
+			
+			if (operator == null)
+				handleObject(h);
+			else
+				operator.handleObject(h);
+			
+			return true;
+		}
+		finally { unlock(HandlingOperation.HANDLE); }
+	}
+	
+	/**
+	 * Goes through the handleds accepted by the filter and calls the operator's 
+	 * handleObject() -method for them. If the filter was created by one of this handler's 
+	 * indexes, only the handleds provided by the index are checked, in which case they 
+	 * are handled in the index's order. If multiple indexes could be used, the one with the 
+	 * fewest candidates is chosen. Otherwise all the handleds are checked. The iteration 
+	 * stops once the method returns false.
+	 * @param filter The filter that defines which handleds are handled
+	 * @param operator The operation done for each handled. Null if the default 
+	 * handleObject(Handled) should be used
+	 * @param checkHandlingState If this is true, the object's handling state affects whether 
+	 * the object is handled
+	 * @see #addIndex(HandledIndex)
+	 * @see HandledIndex#createFilter(Object)
+	 */
+	protected void handleObjects(HandledFilter<? super T> filter, HandlingOperator operator, 
+			boolean checkHandlingState)
+	{
+		updateStatus();
+		
+		lock(HandlingOperation.HANDLE);
+		try
+		{
+			List<T> handleds = getOperationList(HandlingOperation.HANDLE);
+			
+			// Finds the index that provides the fewest candidates, if any
+			HandledIndex<T, ?> bestIndex = null;
+			int leastCandidates = handleds.size();
+			for (HandledIndex<T, ?> index : this.indexes)
+			{
+				int candidateAmount = index.countCandidates(filter, leastCandidates);
+				if (candidateAmount >= 0 && candidateAmount < leastCandidates)
+				{
+					bestIndex = index;
+					leastCandidates = candidateAmount;
+				}
+			}
+			
+			List<T> candidates = handleds;
+			if (bestIndex != null)
+			{
+				candidates = new ArrayList<>(leastCandidates);
+				bestIndex.findCandidates(filter, candidates);
+			}
+			
+			for (int i = 0; i < candidates.size(); i++)
+			{
+				T h = candidates.get(i);
+				
+				if (h.getIsDeadStateOperator().getState())
+					removeHandled(h);
+				else if (filter.accepts(h) && (!checkHandlingState || shouldBeHandled(h)))
+				{
+					if (operator == null ? !handleObject(h) : !operator.handleObject(h))
+						break;
+				}
+			}
 		}
-		finally { this.locks.get(HandlingOperation.HANDLE).unlock(); }
+		finally { unlock(HandlingOperation.HANDLE); }
 		
 		updateStatus();
 	}
 	
+	/**
+	 * Adds a secondary index to this handler. The index is filled with the current handleds 
+	 * and kept up to date as the handleds are added and removed. Filters created by the 
+	 * index can then be used for handling only the matching handleds.
+	 * @param index The index that is added. The index shouldn't be used by other handlers.
+	 * @see #handleObjects(HandledFilter, HandlingOperator, boolean)
+	 */
+	public void addIndex(HandledIndex<T, ?> index)
+	{
+		if (index == null)
+			return;
+		
+		lock(HandlingOperation.HANDLE);
+		try
+		{
+			if (this.indexes.contains(index))
+				return;
+			
+			index.clear();
+			for (T h : getOperationList(HandlingOperation.HANDLE))
+			{
+				index.add(h);
+			}
+			this.indexes.add(index);
+		}
+		finally { unlock(HandlingOperation.HANDLE); }
+	}
+	
+	/**
+	 * Removes a secondary index from this handler. The index is no longer updated.
+	 * @param index The index that is removed
+	 */
+	public void removeIndex(HandledIndex<T, ?> index)
+	{
+		lock(HandlingOperation.HANDLE);
+		try
+		{
+			this.indexes.remove(index);
+		}
+		finally { unlock(HandlingOperation.HANDLE); }
+	}
+	
+	/**
+	 * Updates the handled's position in this handler's indexes. This should be called 
+	 * whenever an indexed attribute of a handled changes.
+	 * @param h The handled whose attributes changed
+	 */
+	public void updateIndexes(T h)
+	{
+		if (h == null)
+			return;
+		
+		lock(HandlingOperation.HANDLE);
+		try
+		{
+			for (HandledIndex<T, ?> index : this.indexes)
+			{
+				index.update(h);
+			}
+		}
+		finally { unlock(HandlingOperation.HANDLE); }
+	}
+	
 	/**
 	 * Goes through all the handleds and calls handleObject -method for those 
 	 * objects
@@ -208,16 +460,79 @@ public abstract class Handler<T extends Handled> implements Handled
 		handleObjects(null, checkHandlingState);
 	}
 	
+	/**
+	 * @return How many handleds are checked for dead objects each time the handling is 
+	 * stopped before all the handleds have been handled
+	 */
+	public int getSweepBudget()
+	{
+		return this.sweepBudget;
+	}
+	
+	/**
+	 * Changes how many handleds are checked for dead objects each time the handling is 
+	 * stopped before all the handleds have been handled. The check continues from where it 
+	 * last ended, so eventually all the handleds are checked.
+	 * @param sweepBudget How many handleds are checked. 0 if the handleds should only be 
+	 * checked when they are reached during handling or when 
+	 * {@link #sweepDeadHandleds(int)} is called.
+	 */
+	public void setSweepBudget(int sweepBudget)
+	{
+		this.sweepBudget = Math.max(0, sweepBudget);
+	}
+	
+	/**
+	 * Checks some of the handleds and removes the dead ones. The check continues from where 
+	 * the previous check ended. The dead handleds are removed at the next status update.
+	 * @param maxAmount How many handleds are checked at most
+	 * @return How many dead handleds were found
+	 */
+	public int sweepDeadHandleds(int maxAmount)
+	{
+		int deadAmount = 0;
+		
+		lock(HandlingOperation.HANDLE);
+		try
+		{
+			List<T> handleds = this.operationLists.get(HandlingOperation.HANDLE);
+			int amount = Math.min(maxAmount, handleds.size());
+			for (int i = 0; i < amount; i++)
+			{
+				if (this.sweepIndex >= handleds.size())
+					this.sweepIndex = 0;
+				
+				T h = handleds.get(this.sweepIndex ++);
+				if (h.getIsDeadStateOperator().getState())
+				{
+					removeHandled(h);
+					deadAmount ++;
+				}
+			}
+		}
+		finally { unlock(HandlingOperation.HANDLE); }
+		
+		return deadAmount;
+	}
+	
 	/**
 	 * Adds a new object to the handled objects. The addition takes place after the next 
-	 * (or current) handleObjects -iteration
+	 * (or current) handleObjects -iteration. If the object is waiting to be removed, the 
+	 * removal is cancelled instead, so that the object stays in the handler. This way the 
+	 * latest call decides whether the object is handled.
 	 * @param h The object to be handled
 	 */
 	public void add(T h)
 	{
 		// Performs necessary checks
-		if (h != null && h != this && !getOperationList(HandlingOperation.HANDLE).contains(h) 
-				&& !getOperationList(HandlingOperation.ADD).contains(h))
+		if (h == null || h == this)
+			return;
+		
+		// Calling add would also cancel a removal
+		if (getOperationList(HandlingOperation.REMOVE).contains(h))
+			modifyOperationList(HandlingOperation.REMOVE, REMOVE, h);
+		else if (!getOperationList(HandlingOperation.HANDLE).contains(h) && 
+				!getOperationList(HandlingOperation.ADD).contains(h))
 			// Adds the handled to the queue
 			modifyOperationList(HandlingOperation.ADD, ADD, h);
 	}
@@ -319,12 +634,75 @@ public abstract class Handler<T extends Handled> implements Handled
 	}
 	
 	/**
-	 * Sorts the list of handleds using the given comparator
+	 * Locks the handleds the same way the handling methods do, so that subclasses can keep 
+	 * their own data consistent with the handleds and handle them atomically. Each call must 
+	 * be followed by {@link #unlockHandling()}, preferably in a finally block. The lock is 
+	 * reentrant, so the handling methods can be called while it is held, but 
+	 * {@link #updateStatus()} must be called before the lock is acquired.
+	 */
+	protected void lockHandling()
+	{
+		lock(HandlingOperation.HANDLE);
+	}
+	
+	/**
+	 * Releases the lock acquired with {@link #lockHandling()}
+	 */
+	protected void unlockHandling()
+	{
+		unlock(HandlingOperation.HANDLE);
+	}
+	
+	/**
+	 * This method is called when a new handled becomes handled in this handler. Subclasses 
+	 * may override this in order to keep track of their handleds. The default implementation 
+	 * does nothing.
+	 * @param h The handled that was added
+	 * @see #updateStatus()
+	 */
+	protected void onHandledAdded(T h)
+	{
+		// Does nothing by default
+	}
+	
+	/**
+	 * This method is called when a handled is no longer handled in this handler. Subclasses 
+	 * may override this in order to keep track of their handleds. The default implementation 
+	 * does nothing.
+	 * @param h The handled that was removed
+	 * @see #updateStatus()
+	 */
+	protected void onHandledRemoved(T h)
+	{
+		// Does nothing by default
+	}
+	
+	/**
+	 * This method is called when the handler dies and drops all of its handleds at once. 
+	 * {@link #onHandledRemoved(Handled)} isn't called for the dropped handleds, so 
+	 * subclasses that keep track of their handleds should forget them here. The default 
+	 * implementation does nothing.
+	 */
+	protected void onHandledsCleared()
+	{
+		// Does nothing by default
+	}
+	
+	/**
+	 * Sorts the list of handleds using the given comparator. If the handleds are grouped by 
+	 * class, the handleds are sorted within their groups.
 	 * @param c The comparator used to sort the handleds
 	 */
 	protected void sortHandleds(Comparator<T> c)
 	{
-		Collections.sort(this.operationLists.get(HandlingOperation.HANDLE), c);
+		lock(HandlingOperation.HANDLE);
+		try
+		{
+			Collections.sort(this.operationLists.get(HandlingOperation.HANDLE), 
+					isGroupedByClass() ? new ClassComparator(c) : c);
+			this.sweepIndex = 0;
+		}
+		finally { unlock(HandlingOperation.HANDLE); }
 	}
 	
 	// This should be called at the end of the iteration
@@ -337,10 +715,10 @@ public abstract class Handler<T extends Handled> implements Handled
 		try
 		{
 			// Removes all removed handleds from handleds
-			for (Handled h : getOperationList(HandlingOperation.REMOVE))
+			for (T h : getOperationList(HandlingOperation.REMOVE))
 			{
-				if (getOperationList(HandlingOperation.HANDLE).contains(h))
-					modifyOperationList(HandlingOperation.HANDLE, REMOVE, h);
+				if (removeFromHandleds(h))
+					onHandledRemoved(h);
 			}
 			
 			// Empties the removing list
@@ -359,9 +737,11 @@ public abstract class Handler<T extends Handled> implements Handled
 		try
 		{
 			// Adds all handleds from the addlist to the handleds
-			for (Handled h : getOperationList(HandlingOperation.ADD))
+			for (T h : getOperationList(HandlingOperation.ADD))
 			{
-				modifyOperationList(HandlingOperation.HANDLE, ADD, h);
+				addToHandleds(h);
+				addToIndexes(h);
+				onHandledAdded(h);
 			}
 			
 			// Clears the addlist
@@ -370,6 +750,97 @@ public abstract class Handler<T extends Handled> implements Handled
 		finally {unlock(HandlingOperation.ADD);}
 	}
 	
+	private void addToHandleds(T h)
+	{
+		lock(HandlingOperation.HANDLE);
+		try
+		{
+			List<T> handleds = getOperationList(HandlingOperation.HANDLE);
+			if (this.classAmounts == null)
+			{
+				handleds.add(h);
+				return;
+			}
+			
+			// The handled is placed at the end of its group. A new class starts a new group 
+			// at the end of the handleds.
+			int index = 0;
+			Integer amount = null;
+			for (Map.Entry<Class<?>, Integer> entry : this.classAmounts.entrySet())
+			{
+				index += entry.getValue();
+				if (entry.getKey() == h.getClass())
+				{
+					amount = entry.getValue();
+					break;
+				}
+			}
+			
+			handleds.add(index, h);
+			this.classAmounts.put(h.getClass(), amount == null ? 1 : amount + 1);
+			// The sweep continues from the same handled
+			if (index < this.sweepIndex)
+				this.sweepIndex ++;
+		}
+		finally { unlock(HandlingOperation.HANDLE); }
+	}
+	
+	private void addToIndexes(T h)
+	{
+		if (this.indexes.isEmpty())
+			return;
+		
+		lock(HandlingOperation.HANDLE);
+		try
+		{
+			for (HandledIndex<T, ?> index : this.indexes)
+			{
+				index.add(h);
+			}
+		}
+		finally { unlock(HandlingOperation.HANDLE); }
+	}
+	
+	private boolean shouldBeHandled(T h)
+	{
+		HandlingStateOperatorRelay operators = h.getHandlingOperators();
+		return operators != null && 
+				operators.getShouldBeHandledOperator(getHandlerType()).getState();
+	}
+	
+	private boolean removeFromHandleds(T h)
+	{
+		lock(HandlingOperation.HANDLE);
+		try
+		{
+			List<T> handleds = getOperationList(HandlingOperation.HANDLE);
+			int index = handleds.indexOf(h);
+			if (index < 0)
+				return false;
+			
+			handleds.remove(index);
+			if (this.classAmounts != null)
+			{
+				// Classes without any handleds lose their groups
+				int amount = this.classAmounts.get(h.getClass());
+				if (amount > 1)
+					this.classAmounts.put(h.getClass(), amount - 1);
+				else
+					this.classAmounts.remove(h.getClass());
+			}
+			for (HandledIndex<T, ?> handledIndex : this.indexes)
+			{
+				handledIndex.remove(h);
+			}
+			// The sweep continues from the same handled
+			if (index < this.sweepIndex)
+				this.sweepIndex --;
+			
+			return true;
+		}
+		finally { unlock(HandlingOperation.HANDLE); }
+	}
+	
 	private List<T> getOperationList(HandlingOperation operation)
 	{
 		return this.operationLists.get(operation);
@@ -396,24 +867,36 @@ public abstract class Handler<T extends Handled> implements Handled
 	
 	private void lock(HandlingOperation operation)
 	{
-		this.locks.get(operation).lock();
+		if (this.locks == null)
+		{
+			// The thread that first accesses a confined handler becomes its owner. The 
+			// owner is recorded whether assertions are enabled or not
+			Thread current = Thread.currentThread();
+			if (this.ownerThread == null)
+				this.ownerThread = current;
+			
+			assert this.ownerThread == current : "Thread confined handler " + this + 
+					" was accessed from thread " + current + " instead of " + 
+					this.ownerThread;
+		}
+		else
+			this.locks.get(operation).lock();
 	}
 	
 	private void unlock(HandlingOperation operation)
 	{
-		this.locks.get(operation).unlock();
+		if (this.locks != null)
+			this.locks.get(operation).unlock();
 	}
 	
 	private void initialize()
 	{
 		for (HandlingOperation operation : HandlingOperation.values())
 		{
-			if (operation == HandlingOperation.HANDLE)
-				this.operationLists.put(operation, new LinkedList<T>());
-			else
-				this.operationLists.put(operation, new ArrayList<T>());
+			this.operationLists.put(operation, new ArrayList<T>());
 			
-			this.locks.put(operation, new ReentrantLock());
+			if (this.locks != null)
+				this.locks.put(operation, new ReentrantLock());
 		}
 		
 		// The basic handling state is the only one that can be altered
@@ -461,6 +944,43 @@ public abstract class Handler<T extends Handled> implements Handled
 		protected abstract boolean handleObject(T h);
 	}
 	
+	private class ClassComparator implements Comparator<T>
+	{
+		// ATTRIBUTES	--------------------------------------
+		
+		private Comparator<T> secondaryComparator;
+		private Map<Class<?>, Integer> classIndices;
+		
+		
+		// CONSTRUCTOR	--------------------------------------
+		
+		public ClassComparator(Comparator<T> secondaryComparator)
+		{
+			this.secondaryComparator = secondaryComparator;
+			
+			// The classes are ordered the same way as their groups
+			this.classIndices = new HashMap<>();
+			for (Class<?> c : Handler.this.classAmounts.keySet())
+			{
+				this.classIndices.put(c, this.classIndices.size());
+			}
+		}
+		
+		
+		// IMPLEMENTED METHODS	------------------------------
+		
+		@Override
+		public int compare(T o1, T o2)
+		{
+			int result = Integer.compare(this.classIndices.get(o1.getClass()), 
+					this.classIndices.get(o2.getClass()));
+			if (result == 0 && this.secondaryComparator != null)
+				return this.secondaryComparator.compare(o1, o2);
+			
+			return result;
+		}
+	}
+	
 	private abstract class IterativeStateOperator extends StateOperator
 	{
 		// CONSTRUCTOR	--------------------------------------
@@ -685,6 +1205,21 @@ public abstract class Handler<T extends Handled> implements Handled
 				{
 					modifyOperationList(operation, CLEAR, null);
 				}
+				
+				lock(HandlingOperation.HANDLE);
+				try
+				{
+					if (Handler.this.classAmounts != null)
+						Handler.this.classAmounts.clear();
+					// The indexes would otherwise still find the dropped handleds
+					for (HandledIndex<T, ?> index : Handler.this.indexes)
+					{
+						index.clear();
+					}
+				}
+				finally { unlock(HandlingOperation.HANDLE); }
+				
+				onHandledsCleared();
 			}
 		}
 	}
@@ -0,0 +1,373 @@
+package utopia.inception.handling;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * HandlerScheduler handles handlers in a pool of worker threads. Each submission handles the 
+ * handler once. A handler is never handled by two workers at the same time: if the handler 
+ * is submitted while it is being handled, it is handled again once the previous handling 
+ * has finished, and submissions made while the handler is waiting are combined. Each handler 
+ * has a home worker that handles it whenever possible, but idle workers take work from the 
+ * other workers when they have none of their own.<br> 
+ * Since a handler may be handled by different threads, thread confined handlers shouldn't be 
+ * scheduled. Exceptions thrown during the handling are passed to the worker thread's 
+ * uncaught exception handler. Errors stop the worker that handled the handler, but the 
+ * other workers continue.
+ *
+ * @since 18.10.2026
+ */
+public class HandlerScheduler
+{
+	// ATTRIBUTES	------------------------------
+	
+	private static final int IDLE = 0;
+	private static final int QUEUED = 1;
+	private static final int RUNNING = 2;
+	private static final int RESUBMITTED = 3;
+	private static final int REMOVED = 4;
+	
+	private final Worker[] workers;
+	private final ConcurrentHashMap<Handler<?>, Task> tasks;
+	private final Semaphore availableTasks;
+	private final AtomicInteger activeTaskAmount, nextHomeIndex;
+	private final ReentrantLock idleLock;
+	private final Condition idle;
+	private volatile boolean running;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new scheduler and starts its workers
+	 * @param workerAmount How many worker threads are used
+	 * @throws IllegalArgumentException If the worker amount is smaller than 1
+	 */
+	public HandlerScheduler(int workerAmount) throws IllegalArgumentException
+	{
+		if (workerAmount < 1)
+			throw new IllegalArgumentException("Worker amount must be positive");
+		
+		// Initializes attributes
+		this.workers = new Worker[workerAmount];
+		this.tasks = new ConcurrentHashMap<>();
+		this.availableTasks = new Semaphore(0);
+		this.activeTaskAmount = new AtomicInteger(0);
+		this.nextHomeIndex = new AtomicInteger(0);
+		this.idleLock = new ReentrantLock();
+		this.idle = this.idleLock.newCondition();
+		this.running = true;
+		
+		for (int i = 0; i < workerAmount; i++)
+		{
+			this.workers[i] = new Worker(i);
+		}
+		for (Worker worker : this.workers)
+		{
+			worker.thread.start();
+		}
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Schedules the handler to be handled once
+	 * @param handler The handler that is handled
+	 */
+	public void submit(Handler<?> handler)
+	{
+		if (handler == null || !this.running)
+			return;
+		
+		while (true)
+		{
+			Task task = getTask(handler);
+			int state = task.state.get();
+			if (state == IDLE)
+			{
+				if (task.state.compareAndSet(IDLE, QUEUED))
+				{
+					this.activeTaskAmount.incrementAndGet();
+					enqueue(task, this.workers[task.homeIndex]);
+					return;
+				}
+			}
+			else if (state == RUNNING)
+			{
+				if (task.state.compareAndSet(RUNNING, RESUBMITTED))
+					return;
+			}
+			// Removed tasks are replaced with new ones
+			else if (state == REMOVED)
+				this.tasks.remove(handler, task);
+			// Queued and resubmitted tasks will be handled anyway
+			else
+				return;
+		}
+	}
+	
+	/**
+	 * Schedules each of the handlers to be handled once
+	 * @param handlers The handlers that are handled
+	 */
+	public void submitAll(Collection<? extends Handler<?>> handlers)
+	{
+		for (Handler<?> handler : handlers)
+		{
+			submit(handler);
+		}
+	}
+	
+	/**
+	 * Handles each handler in the relay once and waits until they have all been handled
+	 * @param relay The relay whose handlers are handled
+	 * @throws InterruptedException If the thread was interrupted while waiting
+	 */
+	public void handleAll(HandlerRelay relay) throws InterruptedException
+	{
+		submitAll(relay.getHandlers());
+		awaitIdle();
+	}
+	
+	/**
+	 * Waits until there are no handlers waiting for handling or being handled
+	 * @throws InterruptedException If the thread was interrupted while waiting
+	 */
+	public void awaitIdle() throws InterruptedException
+	{
+		this.idleLock.lock();
+		try
+		{
+			while (this.activeTaskAmount.get() > 0 && this.running)
+			{
+				this.idle.await();
+			}
+		}
+		finally { this.idleLock.unlock(); }
+	}
+	
+	/**
+	 * Forgets a handler that won't be submitted anymore. Should be called for handlers that 
+	 * are no longer used. If the handler is waiting for handling or being handled, it is 
+	 * forgotten once the handling has finished.
+	 * @param handler The handler that is forgotten
+	 */
+	public void remove(Handler<?> handler)
+	{
+		Task task = this.tasks.get(handler);
+		if (task == null)
+			return;
+		
+		task.removed = true;
+		forget(task);
+	}
+	
+	/**
+	 * Stops the workers once they have finished their current handlings. The handlers 
+	 * waiting for handling are not handled.
+	 */
+	public void shutdown()
+	{
+		this.running = false;
+		
+		// The waiting tasks are dropped
+		for (Worker worker : this.workers)
+		{
+			Task task = worker.tasks.pollFirst();
+			while (task != null)
+			{
+				task.state.set(IDLE);
+				onTaskFinished();
+				task = worker.tasks.pollFirst();
+			}
+		}
+		
+		this.availableTasks.release(this.workers.length);
+		
+		this.idleLock.lock();
+		try
+		{
+			this.idle.signalAll();
+		}
+		finally { this.idleLock.unlock(); }
+	}
+	
+	/**
+	 * @return How many worker threads the scheduler uses
+	 */
+	public int getWorkerAmount()
+	{
+		return this.workers.length;
+	}
+	
+	private Task getTask(Handler<?> handler)
+	{
+		Task task = this.tasks.get(handler);
+		if (task == null)
+		{
+			Task newTask = new Task(handler, Math.abs(this.nextHomeIndex.getAndIncrement() % 
+					this.workers.length));
+			task = this.tasks.putIfAbsent(handler, newTask);
+			if (task == null)
+				task = newTask;
+		}
+		
+		return task;
+	}
+	
+	private void enqueue(Task task, Worker worker)
+	{
+		worker.tasks.addLast(task);
+		this.availableTasks.release();
+	}
+	
+	private Task take(Worker worker)
+	{
+		// The worker's own tasks are preferred. Otherwise the oldest task of another worker 
+		// is taken
+		while (true)
+		{
+			if (!this.running)
+				return null;
+			
+			Task task = worker.tasks.pollLast();
+			if (task != null)
+				return task;
+			
+			for (int i = 1; i < this.workers.length; i++)
+			{
+				task = this.workers[(worker.index + i) % this.workers.length].tasks.pollFirst();
+				if (task != null)
+					return task;
+			}
+			
+			Thread.yield();
+		}
+	}
+	
+	private void run(Task task, Worker worker)
+	{
+		task.state.set(RUNNING);
+		try
+		{
+			Handler<?> handler = task.handler;
+			if (handler.getIsDeadStateOperator().getState())
+				task.removed = true;
+			else
+				handler.handleObjects(true);
+		}
+		catch (RuntimeException e)
+		{
+			Thread thread = Thread.currentThread();
+			thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+		}
+		// The task is finished even if the handling failed with an error
+		finally { finish(task, worker); }
+	}
+	
+	private void finish(Task task, Worker worker)
+	{
+		// Resubmitted tasks are queued again to the same worker, unless the scheduler has 
+		// been shut down
+		if (!task.state.compareAndSet(RUNNING, IDLE))
+		{
+			if (this.running)
+			{
+				task.state.set(QUEUED);
+				enqueue(task, worker);
+				return;
+			}
+			task.state.set(IDLE);
+		}
+		
+		if (task.removed)
+			forget(task);
+		onTaskFinished();
+	}
+	
+	private void forget(Task task)
+	{
+		// Only idle tasks are forgotten. Busy tasks are forgotten once they finish.
+		if (task.state.compareAndSet(IDLE, REMOVED))
+			this.tasks.remove(task.handler, task);
+	}
+	
+	private void onTaskFinished()
+	{
+		if (this.activeTaskAmount.decrementAndGet() == 0)
+		{
+			this.idleLock.lock();
+			try
+			{
+				this.idle.signalAll();
+			}
+			finally { this.idleLock.unlock(); }
+		}
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class Task
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final Handler<?> handler;
+		private final int homeIndex;
+		private final AtomicInteger state;
+		private volatile boolean removed;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public Task(Handler<?> handler, int homeIndex)
+		{
+			this.handler = handler;
+			this.homeIndex = homeIndex;
+			this.state = new AtomicInteger(IDLE);
+			this.removed = false;
+		}
+	}
+	
+	private class Worker implements Runnable
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final int index;
+		private final ConcurrentLinkedDeque<Task> tasks;
+		private final Thread thread;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public Worker(int index)
+		{
+			this.index = index;
+			this.tasks = new ConcurrentLinkedDeque<>();
+			this.thread = new Thread(this, "HandlerScheduler-" + index);
+			this.thread.setDaemon(true);
+		}
+		
+		
+		// IMPLEMENTED METHODS	---------------------
+		
+		@Override
+		public void run()
+		{
+			while (HandlerScheduler.this.running)
+			{
+				HandlerScheduler.this.availableTasks.acquireUninterruptibly();
+				Task task = take(this);
+				if (task == null)
+					return;
+				HandlerScheduler.this.run(task, this);
+			}
+		}
+	}
+}
@@ -121,14 +121,31 @@ public class HandlingStateOperatorRelay
 	}
 	
 	/**
-	 * Makes the operator use a dependent stateOperator for the given handler type
+	 * Makes the operator use a dependent stateOperator for the given handler type. The 
+	 * master's operator refers to the dependent operator strongly.
 	 * @param master The object the operator will be dependent from
 	 * @param operatorType The type of operator that will be added
 	 */
 	public void makeDependent(Handled master, HandlerType operatorType)
+	{
+		makeDependent(master, operatorType, false);
+	}
+	
+	/**
+	 * Makes the operator use a dependent stateOperator for the given handler type
+	 * @param master The object the operator will be dependent from
+	 * @param operatorType The type of operator that will be added
+	 * @param weaklyReferenced Should the master's operator refer to the dependent operator 
+	 * only weakly. If true, the dependent operator stops following the master once this 
+	 * relay no longer uses it and it isn't referenced elsewhere.
+	 * @see DependentStateOperator#DependentStateOperator(StateOperator, boolean)
+	 */
+	public void makeDependent(Handled master, HandlerType operatorType, 
+			boolean weaklyReferenced)
 	{
 		setShouldBeHandledOperator(operatorType, new DependentStateOperator(
-				master.getHandlingOperators().getShouldBeHandledOperator(operatorType)));
+				master.getHandlingOperators().getShouldBeHandledOperator(operatorType), 
+				weaklyReferenced));
 	}
 	
 	/**
@@ -0,0 +1,148 @@
+package utopia.inception.handling;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HashHandledIndex groups the handleds into buckets by a key, so that the handleds with a 
+ * certain key can be found directly. The subclasses define the key of each handled.
+ *
+ * @since 18.10.2026
+ * @param <K> The type of key the handleds are grouped by
+ * @param <T> The type of handled indexed
+ */
+public abstract class HashHandledIndex<K, T extends Handled> extends HandledIndex<T, K>
+{
+	// ATTRIBUTES	------------------------------
+	
+	private final Map<K, Set<T>> buckets;
+	// The keys are remembered so that the handleds can be found after their keys change
+	private final Map<T, K> keys;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new empty index
+	 */
+	public HashHandledIndex()
+	{
+		// Initializes attributes
+		this.buckets = new HashMap<>();
+		this.keys = new HashMap<>();
+	}
+	
+	
+	// ABSTRACT METHODS	-------------------------
+	
+	/**
+	 * @param h A handled
+	 * @return The key of the handled
+	 */
+	protected abstract K getKey(T h);
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	@Override
+	protected void add(T h)
+	{
+		K key = getKey(h);
+		this.keys.put(h, key);
+		
+		Set<T> bucket = this.buckets.get(key);
+		if (bucket == null)
+		{
+			bucket = new LinkedHashSet<>();
+			this.buckets.put(key, bucket);
+		}
+		bucket.add(h);
+	}
+	
+	@Override
+	protected boolean remove(T h)
+	{
+		if (!this.keys.containsKey(h))
+			return false;
+		
+		K key = this.keys.remove(h);
+		Set<T> bucket = this.buckets.get(key);
+		bucket.remove(h);
+		if (bucket.isEmpty())
+			this.buckets.remove(key);
+		
+		return true;
+	}
+	
+	@Override
+	protected void clear()
+	{
+		this.buckets.clear();
+		this.keys.clear();
+	}
+	
+	@Override
+	protected int countCandidates(K query, int limit)
+	{
+		Set<T> bucket = this.buckets.get(query);
+		return bucket == null ? 0 : Math.min(bucket.size(), limit);
+	}
+	
+	@Override
+	protected void findCandidates(K query, Collection<? super T> target)
+	{
+		Set<T> bucket = this.buckets.get(query);
+		if (bucket != null)
+			target.addAll(bucket);
+	}
+	
+	@Override
+	protected boolean matches(T h, K query)
+	{
+		K key = getKey(h);
+		return key == null ? query == null : key.equals(query);
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * @param key A key
+	 * @return A filter that accepts the handleds with the given key
+	 */
+	public HandledFilter<T> withKey(K key)
+	{
+		return createFilter(key);
+	}
+	
+	/**
+	 * Finds the handled that was indexed last with the given key. Like the rest of the 
+	 * index, this should only be used while the handler's handleds are locked.
+	 * @param key A key
+	 * @return The latest indexed handled with the key. Null if there is no such handled.
+	 */
+	public T getLatest(K key)
+	{
+		Set<T> bucket = this.buckets.get(key);
+		if (bucket == null)
+			return null;
+		
+		T latest = null;
+		for (T h : bucket)
+		{
+			latest = h;
+		}
+		return latest;
+	}
+	
+	/**
+	 * @return How many different keys the indexed handleds have
+	 */
+	public int getKeyAmount()
+	{
+		return this.buckets.size();
+	}
+}
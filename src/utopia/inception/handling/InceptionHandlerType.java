@@ -1,5 +1,6 @@
 package utopia.inception.handling;
 
+import utopia.inception.event.EventListener;
 import utopia.inception.state.StateOperatorListener;
 
 /**
@@ -14,7 +15,26 @@ public enum InceptionHandlerType implements HandlerType
 	 * @see StateOperatorListener
 	 * @see utopia.inception.state.StateOperatorListenerHandler
 	 */
-	STATEOPERATORLISTENER;
+	STATEOPERATORLISTENER(StateOperatorListener.class),
+	/**
+	 * The handler that delivers events to eventListeners
+	 * @see EventListener
+	 * @see utopia.inception.event.EventListenerHandler
+	 */
+	EVENTLISTENER(EventListener.class);
+	
+	
+	// ATTRIBUTES	-----------------------
+	
+	private final Class<?> supportedClass;
+	
+	
+	// CONSTRUCTOR	-----------------------
+	
+	private InceptionHandlerType(Class<?> supportedClass)
+	{
+		this.supportedClass = supportedClass;
+	}
 	
 	
 	// IMPLEMENTED METHODS	---------------
@@ -22,6 +42,6 @@ public enum InceptionHandlerType implements HandlerType
 	@Override
 	public Class<?> getSupportedHandledClass()
 	{
-		return StateOperatorListener.class;
+		return this.supportedClass;
 	}
 }
@@ -0,0 +1,143 @@
+package utopia.inception.handling;
+
+/**
+ * KeyedHandler keeps its handleds in an index by a key, so that a single handled can be 
+ * found and handled without going through the others. The index is a HashHandledIndex 
+ * that the handler keeps up to date like its other indexes. It follows the handled list, 
+ * so the added handleds can be found and the removed handleds are no longer found once the 
+ * handler's status has been updated. Each handled should have a unique key that doesn't 
+ * change while the object is in the handler. If multiple handleds have the same key, the 
+ * latest addition is found.
+ *
+ * @since 18.10.2026
+ * @see HashHandledIndex
+ * @param <K> The type of key used for finding the handleds
+ * @param <T> The type of object handled by this handler
+ */
+public abstract class KeyedHandler<K, T extends Handled> extends Handler<T>
+{
+	// ATTRIBUTES	------------------------------
+	
+	private final KeyIndex index;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new empty handler
+	 */
+	public KeyedHandler()
+	{
+		// Initializes attributes
+		this.index = new KeyIndex();
+		addIndex(this.index);
+	}
+	
+	
+	// ABSTRACT METHODS	-------------------------
+	
+	/**
+	 * @param h A handled in this handler
+	 * @return The key the handled can be found with. Null if the handled shouldn't be 
+	 * indexed.
+	 */
+	protected abstract K getKey(T h);
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Finds a handled from this handler
+	 * @param key The key of the handled
+	 * @return The handled with the given key. Null if there is no such handled or if the 
+	 * handled is dead.
+	 */
+	public T get(K key)
+	{
+		if (key == null)
+			return null;
+		
+		T h;
+		lockHandling();
+		try
+		{
+			h = this.index.getLatest(key);
+		}
+		finally { unlockHandling(); }
+		
+		if (h == null || h.getIsDeadStateOperator().getState())
+			return null;
+		
+		return h;
+	}
+	
+	/**
+	 * @param key A key
+	 * @return Does this handler contain a living handled with the given key
+	 */
+	public boolean containsKey(K key)
+	{
+		return get(key) != null;
+	}
+	
+	/**
+	 * Handles a single handled in this handler with {@link #handleObject(Handled)}
+	 * @param key The key of the handled
+	 * @return Was the handled found and handled. False if there was no such handled or if 
+	 * the handled's handling state prevented the handling.
+	 */
+	public boolean handle(K key)
+	{
+		return handle(key, null);
+	}
+	
+	/**
+	 * Handles a single handled in this handler
+	 * @param key The key of the handled
+	 * @param operator The operation done for the handled. Null if 
+	 * {@link #handleObject(Handled)} should be used.
+	 * @return Was the handled found and handled. False if there was no such handled or if 
+	 * the handled's handling state prevented the handling.
+	 */
+	protected boolean handle(K key, HandlingOperator operator)
+	{
+		return handleSingleObject(get(key), operator, true);
+	}
+	
+	/**
+	 * @param key A key
+	 * @return A filter that accepts all the handleds with the given key. Handling the 
+	 * objects with the filter only goes through the handleds with the key.
+	 * @see #handleObjects(HandledFilter, HandlingOperator, boolean)
+	 */
+	public HandledFilter<T> withKey(K key)
+	{
+		return this.index.withKey(key);
+	}
+	
+	/**
+	 * @return How many different keys the indexed handleds have
+	 */
+	public int getIndexedAmount()
+	{
+		lockHandling();
+		try
+		{
+			// The handleds without a key aren't indexed
+			return this.index.getKeyAmount() - (this.index.getLatest(null) == null ? 0 : 1);
+		}
+		finally { unlockHandling(); }
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private class KeyIndex extends HashHandledIndex<K, T>
+	{
+		@Override
+		protected K getKey(T h)
+		{
+			return KeyedHandler.this.getKey(h);
+		}
+	}
+}
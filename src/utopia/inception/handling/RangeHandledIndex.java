@@ -0,0 +1,210 @@
+package utopia.inception.handling;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * RangeHandledIndex keeps the handleds sorted by a value, so that the handleds with a value 
+ * within a certain range can be found without going through the others. The subclasses 
+ * define the value of each handled.
+ *
+ * @since 18.10.2026
+ * @param <T> The type of handled indexed
+ */
+public abstract class RangeHandledIndex<T extends Handled> extends 
+		HandledIndex<T, RangeHandledIndex.Range>
+{
+	// ATTRIBUTES	------------------------------
+	
+	private final TreeMap<Double, Set<T>> handleds;
+	// The values are remembered so that the handleds can be found after their values change
+	private final Map<T, Double> values;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new empty index
+	 */
+	public RangeHandledIndex()
+	{
+		// Initializes attributes
+		this.handleds = new TreeMap<>();
+		this.values = new HashMap<>();
+	}
+	
+	
+	// ABSTRACT METHODS	-------------------------
+	
+	/**
+	 * @param h A handled
+	 * @return The value the handled is indexed by
+	 */
+	protected abstract double getValue(T h);
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	@Override
+	protected void add(T h)
+	{
+		// Negative zero would be sorted separately from zero
+		Double value = getValue(h) + 0.0;
+		this.values.put(h, value);
+		
+		Set<T> sameValue = this.handleds.get(value);
+		if (sameValue == null)
+		{
+			sameValue = new LinkedHashSet<>();
+			this.handleds.put(value, sameValue);
+		}
+		sameValue.add(h);
+	}
+	
+	@Override
+	protected boolean remove(T h)
+	{
+		Double value = this.values.remove(h);
+		if (value == null)
+			return false;
+		
+		Set<T> sameValue = this.handleds.get(value);
+		sameValue.remove(h);
+		if (sameValue.isEmpty())
+			this.handleds.remove(value);
+		
+		return true;
+	}
+	
+	@Override
+	protected void clear()
+	{
+		this.handleds.clear();
+		this.values.clear();
+	}
+	
+	@Override
+	protected int countCandidates(Range query, int limit)
+	{
+		// Only the values within the range are visited
+		int amount = 0;
+		for (Set<T> sameValue : getHandleds(query).values())
+		{
+			amount += sameValue.size();
+			if (amount >= limit)
+				return limit;
+		}
+		
+		return amount;
+	}
+	
+	@Override
+	protected void findCandidates(Range query, Collection<? super T> target)
+	{
+		for (Set<T> sameValue : getHandleds(query).values())
+		{
+			target.addAll(sameValue);
+		}
+	}
+	
+	@Override
+	protected boolean matches(T h, Range query)
+	{
+		return query.contains(getValue(h));
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * @param min The smallest accepted value (inclusive)
+	 * @param max The largest accepted value (inclusive)
+	 * @return A filter that accepts the handleds with a value within the given range, in 
+	 * ascending order of value
+	 */
+	public HandledFilter<T> between(double min, double max)
+	{
+		return createFilter(new Range(min, max));
+	}
+	
+	private NavigableMap<Double, Set<T>> getHandleds(Range range)
+	{
+		if (!(range.min <= range.max))
+			return new TreeMap<>();
+		return this.handleds.subMap(range.min, true, range.max, true);
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	/**
+	 * Range is a query that matches the handleds whose value is between two values
+	 *
+	 * @since 18.10.2026
+	 */
+	public static class Range
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final double min, max;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		/**
+		 * Creates a new range
+		 * @param min The smallest accepted value (inclusive)
+		 * @param max The largest accepted value (inclusive)
+		 */
+		public Range(double min, double max)
+		{
+			this.min = min + 0.0;
+			this.max = max + 0.0;
+		}
+		
+		
+		// IMPLEMENTED METHODS	---------------------
+		
+		@Override
+		public String toString()
+		{
+			return "[" + this.min + ", " + this.max + "]";
+		}
+		
+		
+		// ACCESSORS	-----------------------------
+		
+		/**
+		 * @return The smallest accepted value (inclusive)
+		 */
+		public double getMin()
+		{
+			return this.min;
+		}
+		
+		/**
+		 * @return The largest accepted value (inclusive)
+		 */
+		public double getMax()
+		{
+			return this.max;
+		}
+		
+		
+		// OTHER METHODS	-------------------------
+		
+		/**
+		 * @param value A value
+		 * @return Is the value within this range
+		 */
+		public boolean contains(double value)
+		{
+			return value >= this.min && value <= this.max;
+		}
+	}
+}
@@ -0,0 +1,250 @@
+package utopia.inception.handling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * RateLimitedHandler handles each of its handleds at most once in a certain interval, even if 
+ * the handler itself is handled more often. The handleds are kept in a queue ordered by the 
+ * time they can be handled next, so the handleds that aren't yet eligible don't need to be 
+ * checked. The amount of handleds handled during a single call can also be limited, in which 
+ * case the rest of the eligible handleds are handled during the following calls.<br> 
+ * A new handled becomes eligible immediately. After a handled has been handled, it becomes 
+ * eligible again once its interval has passed.
+ *
+ * @since 18.10.2026
+ * @param <T> The type of object handled by this handler
+ */
+public abstract class RateLimitedHandler<T extends Handled> extends Handler<T>
+{
+	// ATTRIBUTES	------------------------------
+	
+	// The queue and the slots are only used while the handleds are locked
+	private final PriorityQueue<Slot<T>> queue;
+	private final Map<Handled, Slot<T>> slots;
+	private int cancelledAmount;
+	private int tickBudget;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new handler without a limit for the amount of handleds handled at once
+	 */
+	public RateLimitedHandler()
+	{
+		this(0);
+	}
+	
+	/**
+	 * Creates a new handler
+	 * @param tickBudget How many handleds can be handled in a single call at most. 0 for no 
+	 * limit.
+	 */
+	public RateLimitedHandler(int tickBudget)
+	{
+		// Initializes attributes
+		this.queue = new PriorityQueue<>();
+		this.slots = new HashMap<>();
+		this.cancelledAmount = 0;
+		this.tickBudget = Math.max(0, tickBudget);
+	}
+	
+	
+	// ABSTRACT METHODS	-------------------------
+	
+	/**
+	 * @param h A handled in this handler
+	 * @return How many milliseconds must pass between the handlings of the handled
+	 */
+	protected abstract long getMinInterval(T h);
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	/**
+	 * Handles the handleds that have become eligible for handling
+	 */
+	@Override
+	protected void handleObjects(boolean checkHandlingState)
+	{
+		updateStatus();
+		
+		long now = System.nanoTime();
+		int handledAmount = 0;
+		
+		lockHandling();
+		try
+		{
+			while (!this.queue.isEmpty() && this.queue.peek().nextTime - now <= 0 && 
+					(this.tickBudget == 0 || handledAmount < this.tickBudget))
+			{
+				// The slots of the removed handleds are dropped when they are reached
+				Slot<T> slot = this.queue.poll();
+				if (slot.cancelled)
+				{
+					this.cancelledAmount --;
+					continue;
+				}
+				
+				T h = slot.handled;
+				if (h.getIsDeadStateOperator().getState())
+				{
+					removeHandled(h);
+					continue;
+				}
+				
+				// Each handled is handled at most once per call, even without an interval
+				slot.nextTime = now + Math.max(1, getMinInterval(h) * 1000000);
+				this.queue.add(slot);
+				
+				// Handleds that are disabled are checked again after the interval
+				if (!checkHandlingState || (h.getHandlingOperators() != null && 
+						h.getHandlingOperators().getShouldBeHandledOperator(
+						getHandlerType()).getState()))
+				{
+					handledAmount ++;
+					if (!handleObject(h))
+						break;
+				}
+			}
+		}
+		finally { unlockHandling(); }
+		
+		updateStatus();
+	}
+	
+	@Override
+	protected void onHandledAdded(T h)
+	{
+		lockHandling();
+		try
+		{
+			Slot<T> slot = new Slot<>(h, System.nanoTime());
+			cancel(this.slots.put(h, slot));
+			this.queue.add(slot);
+		}
+		finally { unlockHandling(); }
+	}
+	
+	@Override
+	protected void onHandledRemoved(T h)
+	{
+		lockHandling();
+		try
+		{
+			cancel(this.slots.remove(h));
+		}
+		finally { unlockHandling(); }
+	}
+	
+	@Override
+	protected void onHandledsCleared()
+	{
+		lockHandling();
+		try
+		{
+			this.queue.clear();
+			this.slots.clear();
+			this.cancelledAmount = 0;
+		}
+		finally { unlockHandling(); }
+	}
+	
+	
+	// ACCESSORS	---------------------------------
+	
+	/**
+	 * @return How many handleds can be handled in a single call at most. 0 if there is no 
+	 * limit.
+	 */
+	public int getTickBudget()
+	{
+		return this.tickBudget;
+	}
+	
+	/**
+	 * Changes how many handleds can be handled in a single call at most
+	 * @param tickBudget The maximum amount of handled handleds. 0 for no limit.
+	 */
+	public void setTickBudget(int tickBudget)
+	{
+		this.tickBudget = Math.max(0, tickBudget);
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * @return How many slots the queue currently holds, including the slots of the removed 
+	 * handleds that haven't been dropped yet
+	 */
+	int getQueueSize()
+	{
+		lockHandling();
+		try
+		{
+			return this.queue.size();
+		}
+		finally { unlockHandling(); }
+	}
+	
+	// Expects the handleds to be locked
+	private void cancel(Slot<T> slot)
+	{
+		if (slot == null)
+			return;
+		
+		// The slot is left in the queue until it is reached, unless the cancelled slots 
+		// would take most of the queue
+		slot.cancelled = true;
+		this.cancelledAmount ++;
+		if (this.cancelledAmount > this.slots.size())
+		{
+			List<Slot<T>> liveSlots = new ArrayList<>(this.slots.size());
+			for (Slot<T> queued : this.queue)
+			{
+				if (!queued.cancelled)
+					liveSlots.add(queued);
+			}
+			
+			this.queue.clear();
+			this.queue.addAll(liveSlots);
+			this.cancelledAmount = 0;
+		}
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class Slot<T> implements Comparable<Slot<T>>
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final T handled;
+		private long nextTime;
+		private boolean cancelled;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public Slot(T handled, long nextTime)
+		{
+			this.handled = handled;
+			this.nextTime = nextTime;
+			this.cancelled = false;
+		}
+		
+		
+		// IMPLEMENTED METHODS	---------------------
+		
+		@Override
+		public int compareTo(Slot<T> other)
+		{
+			return Long.compare(this.nextTime - other.nextTime, 0);
+		}
+	}
+}
@@ -0,0 +1,388 @@
+package utopia.inception.handling;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * TickDriver handles the handlers of a handlerRelay at fixed rates. Each handlerType can 
+ * have a frequency of its own. The ticks are scheduled at fixed points in time instead of 
+ * sleeping a fixed time between the ticks, so the delays don't accumulate. If a handler falls 
+ * behind, the missed ticks are run as soon as possible, up to a limit. Ticks beyond the limit 
+ * are skipped. The driver keeps statistics of how late the ticks of each handlerType were 
+ * run.<br> 
+ * Disabled and dead handlers aren't handled, but their schedule continues normally. The 
+ * handlers are handled in the thread that runs the driver. A driver is run once. After it 
+ * has been stopped, it can't be run again.
+ *
+ * @since 18.10.2026
+ */
+public class TickDriver implements Runnable
+{
+	// ATTRIBUTES	------------------------------
+	
+	// Waits shorter than this are spun instead of parked, since parking isn't accurate
+	private static final long SPIN_THRESHOLD_NANOS = 200000;
+	
+	private final HandlerRelay relay;
+	private final Map<HandlerType, Schedule> schedules;
+	private final ReentrantLock lock;
+	private double defaultFrequency;
+	private int maxCatchUpTicks;
+	private volatile boolean running;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new driver
+	 * @param relay The relay whose handlers are handled
+	 * @param defaultFrequency How many times per second the handlers are handled by default
+	 * @throws IllegalArgumentException If the relay is null or the frequency isn't positive
+	 */
+	public TickDriver(HandlerRelay relay, double defaultFrequency) throws 
+			IllegalArgumentException
+	{
+		if (relay == null)
+			throw new IllegalArgumentException("Handler relay must be provided");
+		checkFrequency(defaultFrequency);
+		
+		// Initializes attributes
+		this.relay = relay;
+		this.schedules = new HashMap<>();
+		this.lock = new ReentrantLock();
+		this.defaultFrequency = defaultFrequency;
+		this.maxCatchUpTicks = 5;
+		// The driver can be stopped even before it is run
+		this.running = true;
+	}
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	/**
+	 * Handles the handlers until the driver is stopped. Returns immediately if the driver 
+	 * was stopped before this call.
+	 * @see #stop()
+	 */
+	@Override
+	public void run()
+	{
+		try
+		{
+			runTicks();
+		}
+		finally
+		{
+			this.running = false;
+		}
+	}
+	
+	
+	// ACCESSORS	---------------------------------
+	
+	/**
+	 * @return How many ticks may be run in succession in order to catch up with the 
+	 * schedule. The default is 5.
+	 */
+	public int getMaxCatchUpTicks()
+	{
+		return this.maxCatchUpTicks;
+	}
+	
+	/**
+	 * Changes how many ticks may be run in succession in order to catch up with the schedule. 
+	 * When a handler has fallen further behind, the extra ticks are skipped.
+	 * @param maxCatchUpTicks How many missed ticks are run at most. 0 skips all the missed 
+	 * ticks.
+	 */
+	public void setMaxCatchUpTicks(int maxCatchUpTicks)
+	{
+		this.maxCatchUpTicks = Math.max(0, maxCatchUpTicks);
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Changes how often the handlers of the given type are handled
+	 * @param type The type of handler
+	 * @param ticksPerSecond How many times per second the handlers are handled
+	 * @throws IllegalArgumentException If the frequency isn't positive
+	 */
+	public void setFrequency(HandlerType type, double ticksPerSecond) throws 
+			IllegalArgumentException
+	{
+		checkFrequency(ticksPerSecond);
+		getSchedule(type).setFrequency(ticksPerSecond);
+	}
+	
+	/**
+	 * Stops the driver after the current tick. This can be called from any thread, also 
+	 * before the driver is run, in which case the driver won't run at all.
+	 */
+	public void stop()
+	{
+		this.running = false;
+	}
+	
+	/**
+	 * @return Is the driver running or waiting to be run. False once the driver has been 
+	 * stopped or its run has ended.
+	 */
+	public boolean isRunning()
+	{
+		return this.running;
+	}
+	
+	/**
+	 * @param type The type of handler
+	 * @return Statistics of the ticks of the handlers of the given type
+	 */
+	public TickStatistics getStatistics(HandlerType type)
+	{
+		return getSchedule(type).getStatistics();
+	}
+	
+	private void runTicks()
+	{
+		while (this.running)
+		{
+			long nextTickTime = Long.MAX_VALUE;
+			List<Handler<?>> handlers = this.relay.getHandlers();
+			
+			for (Handler<?> handler : handlers)
+			{
+				Schedule schedule = getSchedule(handler.getHandlerType());
+				long now = System.nanoTime();
+				
+				if (schedule.isDue(now))
+				{
+					if (!handler.getIsDeadStateOperator().getState() && 
+							handler.getHandlingOperator().getState())
+						handler.handleObjects(true);
+					schedule.advance(now, this.maxCatchUpTicks);
+				}
+				
+				nextTickTime = Math.min(nextTickTime, schedule.nextTickTime);
+			}
+			
+			if (handlers.isEmpty())
+				nextTickTime = System.nanoTime() + (long) (1000000000 / this.defaultFrequency);
+			waitUntil(nextTickTime);
+		}
+	}
+	
+	private Schedule getSchedule(HandlerType type)
+	{
+		this.lock.lock();
+		try
+		{
+			Schedule schedule = this.schedules.get(type);
+			if (schedule == null)
+			{
+				schedule = new Schedule(this.defaultFrequency);
+				this.schedules.put(type, schedule);
+			}
+			
+			return schedule;
+		}
+		finally { this.lock.unlock(); }
+	}
+	
+	private void waitUntil(long time)
+	{
+		while (this.running)
+		{
+			long remaining = time - System.nanoTime();
+			if (remaining <= 0)
+				return;
+			else if (remaining > SPIN_THRESHOLD_NANOS)
+				LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+		}
+	}
+	
+	private static void checkFrequency(double ticksPerSecond) throws IllegalArgumentException
+	{
+		if (!(ticksPerSecond > 0) || Double.isInfinite(ticksPerSecond))
+			throw new IllegalArgumentException("Tick frequency must be positive");
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	/**
+	 * TickStatistics describe how accurately the ticks of a handlerType have been run. Lag 
+	 * is the time between the scheduled and actual start of a tick. Jitter is the average 
+	 * change in lag between successive ticks.
+	 *
+	 * @since 18.10.2026
+	 */
+	public static class TickStatistics
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final long tickAmount, skippedTickAmount, lastLag, maxLag;
+		private final double averageLag, jitter;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		private TickStatistics(long tickAmount, long skippedTickAmount, long lastLag, 
+				long maxLag, double averageLag, double jitter)
+		{
+			this.tickAmount = tickAmount;
+			this.skippedTickAmount = skippedTickAmount;
+			this.lastLag = lastLag;
+			this.maxLag = maxLag;
+			this.averageLag = averageLag;
+			this.jitter = jitter;
+		}
+		
+		
+		// IMPLEMENTED METHODS	---------------------
+		
+		@Override
+		public String toString()
+		{
+			return this.tickAmount + " ticks, " + this.skippedTickAmount + " skipped, lag " + 
+					this.lastLag + " ns (average " + (long) this.averageLag + " ns, max " +
+					this.maxLag + " ns), jitter " + (long) this.jitter + " ns";
+		}
+		
+		
+		// ACCESSORS	-----------------------------
+		
+		/**
+		 * @return How many ticks have been run
+		 */
+		public long getTickAmount()
+		{
+			return this.tickAmount;
+		}
+		
+		/**
+		 * @return How many ticks have been skipped because the handler fell too far behind
+		 */
+		public long getSkippedTickAmount()
+		{
+			return this.skippedTickAmount;
+		}
+		
+		/**
+		 * @return The lag of the latest tick in nanoseconds
+		 */
+		public long getLastLag()
+		{
+			return this.lastLag;
+		}
+		
+		/**
+		 * @return The largest lag so far in nanoseconds
+		 */
+		public long getMaxLag()
+		{
+			return this.maxLag;
+		}
+		
+		/**
+		 * @return The average lag of the ticks in nanoseconds
+		 */
+		public double getAverageLag()
+		{
+			return this.averageLag;
+		}
+		
+		/**
+		 * @return The jitter of the ticks in nanoseconds
+		 */
+		public double getJitter()
+		{
+			return this.jitter;
+		}
+	}
+	
+	private static class Schedule
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final ReentrantLock lock;
+		private long interval, nextTickTime;
+		private long tickAmount, skippedTickAmount, lastLag, maxLag;
+		private double averageLag, jitter;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public Schedule(double ticksPerSecond)
+		{
+			this.lock = new ReentrantLock();
+			this.interval = Math.max(1, (long) (1000000000 / ticksPerSecond));
+			this.nextTickTime = System.nanoTime();
+			this.tickAmount = 0;
+			this.skippedTickAmount = 0;
+			this.lastLag = 0;
+			this.maxLag = 0;
+			this.averageLag = 0;
+			this.jitter = 0;
+		}
+		
+		
+		// OTHER METHODS	-------------------------
+		
+		public void setFrequency(double ticksPerSecond)
+		{
+			this.lock.lock();
+			try
+			{
+				this.interval = Math.max(1, (long) (1000000000 / ticksPerSecond));
+			}
+			finally { this.lock.unlock(); }
+		}
+		
+		public boolean isDue(long now)
+		{
+			return now - this.nextTickTime >= 0;
+		}
+		
+		public void advance(long tickStartTime, int maxCatchUpTicks)
+		{
+			this.lock.lock();
+			try
+			{
+				// Updates the statistics
+				long lag = tickStartTime - this.nextTickTime;
+				if (this.tickAmount > 0)
+					this.jitter += (Math.abs(lag - this.lastLag) - this.jitter) / 16;
+				this.tickAmount ++;
+				this.averageLag += (lag - this.averageLag) / this.tickAmount;
+				this.maxLag = Math.max(this.maxLag, lag);
+				this.lastLag = lag;
+				
+				// The ticks that are too far behind are skipped
+				this.nextTickTime += this.interval;
+				long missedTicks = (System.nanoTime() - this.nextTickTime) / this.interval;
+				if (missedTicks > maxCatchUpTicks)
+				{
+					long skipped = missedTicks - maxCatchUpTicks;
+					this.nextTickTime += skipped * this.interval;
+					this.skippedTickAmount += skipped;
+				}
+			}
+			finally { this.lock.unlock(); }
+		}
+		
+		public TickStatistics getStatistics()
+		{
+			this.lock.lock();
+			try
+			{
+				return new TickStatistics(this.tickAmount, this.skippedTickAmount, 
+						this.lastLag, this.maxLag, this.averageLag, this.jitter);
+			}
+			finally { this.lock.unlock(); }
+		}
+	}
+}
@@ -23,6 +23,19 @@ public class DependentStateOperator extends StateOperator implements StateOperat
 	 * @param parent The stateOperator from which the state is copied from
 	 */
 	public DependentStateOperator(StateOperator parent)
+	{
+		this(parent, false);
+	}
+	
+	/**
+	 * Creates a new StateOperator that copies its state from the given source. The operator 
+	 * doesn't need to be added to any handler.
+	 * @param parent The stateOperator from which the state is copied from
+	 * @param weaklyReferenced Should the parent refer to this operator only weakly. If true, 
+	 * the operator stops listening to the parent once it is no longer used elsewhere.
+	 * @see StateOperator#addListenerWeakly(StateOperatorListener)
+	 */
+	public DependentStateOperator(StateOperator parent, boolean weaklyReferenced)
 	{
 		super(parent != null ? parent.getState() : false, true);
 		
@@ -32,15 +45,19 @@ public class DependentStateOperator extends StateOperator implements StateOperat
 		
 		// Adds the object to the handler
 		if (parent != null)
-			parent.getListenerHandler().add(this);
+		{
+			if (weaklyReferenced)
+				parent.addListenerWeakly(this);
+			else
+				parent.addListener(this);
+		}
 	}
 	
 	/**
 	 * Creates a new StateOperator. The operator must be set as a listener for another 
-	 * operator's listenerHandler
+	 * operator
 	 * @param initialState The state the operator has before the handler gives any information
-	 * @see StateOperator#getListenerHandler()
-	 * @see StateOperatorListenerHandler#add(StateOperatorListener)
+	 * @see StateOperator#addListener(StateOperatorListener)
 	 */
 	public DependentStateOperator(boolean initialState)
 	{
@@ -0,0 +1,124 @@
+package utopia.inception.state;
+
+import java.util.List;
+
+/**
+ * GraphStateOperators are the dependent nodes of a StateOperatorGraph. The operator's state 
+ * is defined by the graph based on the operators it depends from. The state can't be 
+ * changed from outside the graph.
+ *
+ * @since 18.10.2026
+ * @see StateOperatorGraph#addDependency(StateOperator, GraphStateOperator)
+ */
+public abstract class GraphStateOperator extends StateOperator
+{
+	// ATTRIBUTES	------------------------------
+	
+	private boolean state;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new operator. The operator's state will be false until it is given some 
+	 * sources through a StateOperatorGraph.
+	 */
+	public GraphStateOperator()
+	{
+		super(false, false);
+		
+		// Initializes attributes
+		this.state = false;
+	}
+	
+	
+	// ABSTRACT METHODS	-----------------------------
+	
+	/**
+	 * In this method the subclass should logically define it's state. The states of the 
+	 * sources are up to date when this method is called.
+	 * @param sources The operators this operator depends from
+	 * @return The operator's state, based on the provided operators
+	 */
+	protected abstract boolean defineStateFrom(List<StateOperator> sources);
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	@Override
+	public boolean getState()
+	{
+		return this.state;
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Updates the operator's state to match its sources. The listeners are not informed 
+	 * here since the graph does that once all the operators have been updated.
+	 * @param sources The operators this operator depends from
+	 * @return Did the operator's state change
+	 */
+	boolean update(List<StateOperator> sources)
+	{
+		boolean newState = defineStateFrom(sources);
+		if (newState == this.state)
+			return false;
+		
+		this.state = newState;
+		return true;
+	}
+	
+	
+	// FACTORIES	---------------------------------------
+	
+	/**
+	 * @return An operator that has a true state when all of its sources have a true state
+	 */
+	public static GraphStateOperator createAndOperator()
+	{
+		return new AndOperator();
+	}
+	
+	/**
+	 * @return An operator that has a true state when any of its sources has a true state
+	 */
+	public static GraphStateOperator createOrOperator()
+	{
+		return new OrOperator();
+	}
+	
+	
+	// SUBCLASSES	---------------------------------------
+	
+	private static class AndOperator extends GraphStateOperator
+	{
+		@Override
+		protected boolean defineStateFrom(List<StateOperator> sources)
+		{
+			for (StateOperator source : sources)
+			{
+				if (!source.getState())
+					return false;
+			}
+			
+			return true;
+		}
+	}
+	
+	private static class OrOperator extends GraphStateOperator
+	{
+		@Override
+		protected boolean defineStateFrom(List<StateOperator> sources)
+		{
+			for (StateOperator source : sources)
+			{
+				if (source.getState())
+					return true;
+			}
+			
+			return false;
+		}
+	}
+}
@@ -1,5 +1,8 @@
 package utopia.inception.state;
 
+import utopia.inception.handling.HandlingStateOperatorRelay;
+import utopia.inception.handling.InceptionHandlerType;
+
 /**
  * StateOperator keeps track of an (object's) boolean state. The state may or may not be 
  * mutable.
@@ -11,7 +14,10 @@ public class StateOperator
 	// ATTRIBUTES	----------------------------------------
 	
 	private boolean state, mutable;
+	// The first two listeners are kept here. A handler is only used for larger amounts
+	private StateOperatorListener firstListener, secondListener;
 	private StateOperatorListenerHandler listenerHandler;
+	private StateOperatorGraph graph;
 	
 	
 	// CONSTRUCTOR	----------------------------------------
@@ -26,7 +32,10 @@ public class StateOperator
 		// Initializes attributes
 		this.state = initialState;
 		this.mutable = mutable;
+		this.firstListener = null;
+		this.secondListener = null;
 		this.listenerHandler = null;
+		this.graph = null;
 	}
 	
 	
@@ -42,9 +51,9 @@ public class StateOperator
 		{
 			// Informs the new state before it is applied since the latter may prevent the 
 			// former
-			if (this.listenerHandler != null) // Doesn't wan't to initialize the handler just for a state change
-				getListenerHandler().onStateChange(this, newState);
+			informListeners(newState);
 			this.state = newState;
+			propagateStateChange();
 		}
 	}
 	
@@ -58,17 +67,93 @@ public class StateOperator
 	
 	/**
 	 * @return The stateListenerHandler that informs object's about the changes in this 
-	 * stateOperator
+	 * stateOperator. If possible, {@link #addListener(StateOperatorListener)} should be used 
+	 * instead, since it doesn't require a handler for small amounts of listeners.
 	 */
 	public StateOperatorListenerHandler getListenerHandler()
 	{
 		// Only initializes the listener Handler when it is required
 		if (this.listenerHandler == null)
+		{
 			this.listenerHandler = new StateOperatorListenerHandler();
+			
+			// The listeners kept in this operator are moved to the handler
+			if (this.firstListener != null)
+				this.listenerHandler.add(this.firstListener);
+			if (this.secondListener != null)
+				this.listenerHandler.add(this.secondListener);
+			this.firstListener = null;
+			this.secondListener = null;
+		}
 		
 		return this.listenerHandler;
 	}
 	
+	/**
+	 * Adds a new listener that will be informed about the changes in this operator. A 
+	 * listener added while the listeners are being informed is informed starting from the 
+	 * next state change. This is the same whether the listeners are kept in the operator or 
+	 * in a listener handler.
+	 * @param listener The listener that will be informed about state changes
+	 */
+	public void addListener(StateOperatorListener listener)
+	{
+		if (listener == null)
+			return;
+		
+		// Collected weak listeners make room for the new listener
+		if (this.listenerHandler == null)
+			removeDeadInlineListeners();
+		
+		if (this.listenerHandler != null)
+			this.listenerHandler.add(listener);
+		else if (listener.equals(this.firstListener) || listener.equals(this.secondListener))
+			return;
+		else if (this.firstListener == null)
+			this.firstListener = listener;
+		else if (this.secondListener == null)
+			this.secondListener = listener;
+		// Once there are more listeners, they are kept in a handler
+		else
+			getListenerHandler().add(listener);
+	}
+	
+	/**
+	 * Adds a new listener that will be informed about the changes in this operator. The 
+	 * operator only refers to the listener weakly, which means that the listener will be 
+	 * removed once it is no longer used elsewhere.
+	 * @param listener The listener that will be informed about state changes
+	 * @see StateOperatorListenerHandler#addWeakly(StateOperatorListener)
+	 */
+	public void addListenerWeakly(StateOperatorListener listener)
+	{
+		if (listener != null)
+			addListener(new WeakStateOperatorListener(listener));
+	}
+	
+	/**
+	 * Removes a listener from this operator. This works for weakly added listeners as well. 
+	 * A listener removed while the listeners are being informed is still informed about the 
+	 * current state change, but not about the following ones. This is the same whether the 
+	 * listeners are kept in the operator or in a listener handler.
+	 * @param listener The listener that will no longer be informed about state changes
+	 */
+	public void removeListener(StateOperatorListener listener)
+	{
+		if (listener == null)
+			return;
+		
+		if (this.listenerHandler != null)
+			this.listenerHandler.removeHandled(listener);
+		else if (refersTo(this.firstListener, listener))
+		{
+			this.firstListener = this.secondListener;
+			this.secondListener = null;
+		}
+		else if (refersTo(this.secondListener, listener))
+			this.secondListener = null;
+	}
+	
 	/**
 	 * @return Is the operator mutable
 	 */
@@ -83,11 +168,54 @@ public class StateOperator
 	 */
 	public void transferListenersFrom(StateOperator other)
 	{
-		if (other == null || other.listenerHandler == null)
+		if (other == null)
 			return;
 		
-		if (!other.getListenerHandler().isEmpty())
-			getListenerHandler().transferHandledsFrom(other.getListenerHandler());
+		StateOperatorListener first = other.firstListener;
+		StateOperatorListener second = other.secondListener;
+		other.firstListener = null;
+		other.secondListener = null;
+		addListener(first);
+		addListener(second);
+		
+		if (other.listenerHandler != null && !other.listenerHandler.isEmpty())
+			getListenerHandler().transferHandledsFrom(other.listenerHandler);
+	}
+	
+	/**
+	 * Informs the listeners of this operator about a state change. Subclasses that define 
+	 * their state by other means than {@link #setState(boolean)} should call this before 
+	 * their new state is applied.
+	 * @param newState The new state the operator will receive
+	 */
+	protected void informListeners(boolean newState)
+	{
+		// Doesn't wan't to initialize the handler just for a state change
+		if (this.listenerHandler != null)
+			this.listenerHandler.onStateChange(this, newState);
+		else
+		{
+			// The listeners may be removed during the process
+			StateOperatorListener first = this.firstListener;
+			StateOperatorListener second = this.secondListener;
+			
+			if (first != null)
+				informListener(first, newState);
+			if (second != null)
+				informListener(second, newState);
+		}
+	}
+	
+	/**
+	 * Propagates a state change to the operators that depend from this one in a 
+	 * StateOperatorGraph. Subclasses that define their state by other means than 
+	 * {@link #setState(boolean)} should call this after their new state has been applied.
+	 * @see StateOperatorGraph
+	 */
+	protected void propagateStateChange()
+	{
+		if (this.graph != null)
+			this.graph.propagateFrom(this);
 	}
 	
 	/**
@@ -98,4 +226,61 @@ public class StateOperator
 	{
 		this.mutable = mutable;
 	}
+	
+	/**
+	 * @return The graph this operator is part of. Null if the operator isn't part of any 
+	 * graph.
+	 */
+	StateOperatorGraph getGraph()
+	{
+		return this.graph;
+	}
+	
+	/**
+	 * Changes the graph this operator is part of
+	 * @param graph The graph this operator is part of. Null if the operator is no longer 
+	 * part of any graph.
+	 */
+	void setGraph(StateOperatorGraph graph)
+	{
+		this.graph = graph;
+	}
+	
+	private void removeDeadInlineListeners()
+	{
+		if (this.secondListener != null && 
+				this.secondListener.getIsDeadStateOperator().getState())
+			this.secondListener = null;
+		if (this.firstListener != null && this.firstListener.getIsDeadStateOperator().getState())
+		{
+			this.firstListener = this.secondListener;
+			this.secondListener = null;
+		}
+	}
+	
+	// Works like a StateOperatorListenerHandler would
+	private void informListener(StateOperatorListener listener, boolean newState)
+	{
+		if (listener.getIsDeadStateOperator().getState())
+			removeListener(listener);
+		else
+		{
+			HandlingStateOperatorRelay handlingOperators = listener.getHandlingOperators();
+			if (handlingOperators != null && handlingOperators.getShouldBeHandledOperator(
+					InceptionHandlerType.STATEOPERATORLISTENER).getState())
+				listener.onStateChange(this, newState);
+		}
+	}
+	
+	private static boolean refersTo(StateOperatorListener stored, 
+			StateOperatorListener listener)
+	{
+		if (stored == null)
+			return false;
+		else if (stored.equals(listener))
+			return true;
+		else
+			return stored instanceof WeakStateOperatorListener && 
+					((WeakStateOperatorListener) stored).getListener() == listener;
+	}
 }
\ No newline at end of file
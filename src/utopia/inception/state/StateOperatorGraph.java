@@ -0,0 +1,315 @@
+package utopia.inception.state;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * StateOperatorGraph keeps track of the dependencies between stateOperators and propagates 
+ * state changes through them. Unlike listener based propagation, the graph updates the 
+ * dependent operators only after the source's new state has been applied, in topological 
+ * order. This means that each dependent operator is updated at most once per change and 
+ * never sees an intermediate state, even when the graph is diamond-shaped. The listeners of 
+ * the dependent operators are informed once the whole graph has been updated.<br> 
+ * The sources of the graph should be operators that change their state through 
+ * {@link StateOperator#setState(boolean)} or that call 
+ * {@link StateOperator#propagateStateChange()} themselves. Operators that define their state 
+ * only when requested (like {@link AndStateOperator}) can't inform the graph about changes. 
+ * An operator can only be part of a single graph.
+ *
+ * @since 18.10.2026
+ */
+public class StateOperatorGraph
+{
+	// ATTRIBUTES	------------------------------
+	
+	private Map<StateOperator, Node> nodes;
+	private PriorityQueue<Node> updateQueue;
+	private List<Node> pendingNodes;
+	private boolean propagating;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new empty graph
+	 */
+	public StateOperatorGraph()
+	{
+		// Initializes attributes
+		this.nodes = new HashMap<>();
+		this.updateQueue = new PriorityQueue<>(11, new RankComparator());
+		this.pendingNodes = new ArrayList<>();
+		this.propagating = false;
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Makes an operator depend from another operator. The dependent operator's state is 
+	 * updated immediately.
+	 * @param source The operator the dependent operator will depend from
+	 * @param dependent The operator that will depend from the source
+	 * @throws IllegalArgumentException If the dependency would create a cycle in the graph 
+	 * or if either of the operators is already part of another graph
+	 */
+	public void addDependency(StateOperator source, GraphStateOperator dependent) throws 
+			IllegalArgumentException
+	{
+		if (source == null || dependent == null)
+			return;
+		
+		Node sourceNode = getOrCreateNode(source);
+		Node dependentNode = getOrCreateNode(dependent);
+		
+		if (sourceNode.children.contains(dependentNode))
+			return;
+		
+		// Checks for cycles before adding the dependency
+		if (isReachable(dependentNode, sourceNode))
+			throw new IllegalArgumentException("Making " + dependent + " depend from " + 
+					source + " would create a cycle");
+		
+		sourceNode.children.add(dependentNode);
+		dependentNode.sources.add(source);
+		updateRank(dependentNode, sourceNode.rank + 1);
+		
+		schedule(dependentNode);
+	}
+	
+	/**
+	 * Removes a dependency between two operators. The dependent operator's state is updated 
+	 * immediately.
+	 * @param source The operator the dependent operator will no longer depend from
+	 * @param dependent The operator that was dependent from the source
+	 */
+	public void removeDependency(StateOperator source, GraphStateOperator dependent)
+	{
+		Node sourceNode = this.nodes.get(source);
+		Node dependentNode = this.nodes.get(dependent);
+		
+		if (sourceNode == null || dependentNode == null || 
+				!sourceNode.children.remove(dependentNode))
+			return;
+		
+		dependentNode.sources.remove(source);
+		removeIfDisconnected(sourceNode);
+		
+		schedule(dependentNode);
+		removeIfDisconnected(dependentNode);
+	}
+	
+	/**
+	 * Checks whether the graph contains the given operator
+	 * @param operator An operator
+	 * @return Is the operator part of this graph
+	 */
+	public boolean contains(StateOperator operator)
+	{
+		return this.nodes.containsKey(operator);
+	}
+	
+	/**
+	 * Updates the operators that depend from the given operator. This is called after the 
+	 * operator's new state has been applied.
+	 * @param source The operator whose state changed
+	 */
+	void propagateFrom(StateOperator source)
+	{
+		Node node = this.nodes.get(source);
+		if (node != null)
+			schedule(node);
+	}
+	
+	private void schedule(Node node)
+	{
+		// Changes made during a propagation are handled once the current one has finished
+		if (this.propagating)
+		{
+			this.pendingNodes.add(node);
+			return;
+		}
+		
+		this.propagating = true;
+		try
+		{
+			enqueue(node);
+			update();
+			
+			while (!this.pendingNodes.isEmpty())
+			{
+				enqueue(this.pendingNodes.remove(0));
+				update();
+			}
+		}
+		finally
+		{
+			// Clears the queue in case an update failed
+			for (Node queued : this.updateQueue)
+			{
+				queued.queued = false;
+			}
+			this.updateQueue.clear();
+			this.pendingNodes.clear();
+			this.propagating = false;
+		}
+	}
+	
+	private void enqueue(Node node)
+	{
+		// Dependent operators are updated themselves, the sources only affect their 
+		// dependents
+		if (node.operator instanceof GraphStateOperator)
+			enqueueNode(node);
+		else
+		{
+			for (Node child : node.children)
+			{
+				enqueueNode(child);
+			}
+		}
+	}
+	
+	private void enqueueNode(Node node)
+	{
+		if (!node.queued)
+		{
+			node.queued = true;
+			this.updateQueue.add(node);
+		}
+	}
+	
+	private void update()
+	{
+		// The nodes are updated in the order of their rank, so each node's sources have been 
+		// updated before the node itself
+		List<GraphStateOperator> changed = new ArrayList<>();
+		while (!this.updateQueue.isEmpty())
+		{
+			Node node = this.updateQueue.poll();
+			node.queued = false;
+			
+			GraphStateOperator operator = (GraphStateOperator) node.operator;
+			if (operator.update(node.sources))
+			{
+				changed.add(operator);
+				for (Node child : node.children)
+				{
+					enqueueNode(child);
+				}
+			}
+		}
+		
+		// Informs the listeners only after the graph has reached its new state
+		for (GraphStateOperator operator : changed)
+		{
+			operator.informListeners(operator.getState());
+		}
+	}
+	
+	private boolean isReachable(Node from, Node to)
+	{
+		if (from == to)
+			return true;
+		// Ranks always increase along the dependencies
+		if (from.rank >= to.rank)
+			return false;
+		
+		List<Node> stack = new ArrayList<>();
+		Set<Node> visited = new HashSet<>();
+		stack.add(from);
+		
+		while (!stack.isEmpty())
+		{
+			Node node = stack.remove(stack.size() - 1);
+			for (Node child : node.children)
+			{
+				if (child == to)
+					return true;
+				if (child.rank < to.rank && visited.add(child))
+					stack.add(child);
+			}
+		}
+		
+		return false;
+	}
+	
+	private static void updateRank(Node node, int minimumRank)
+	{
+		if (node.rank >= minimumRank)
+			return;
+		
+		node.rank = minimumRank;
+		for (Node child : node.children)
+		{
+			updateRank(child, minimumRank + 1);
+		}
+	}
+	
+	private Node getOrCreateNode(StateOperator operator) throws IllegalArgumentException
+	{
+		Node node = this.nodes.get(operator);
+		if (node == null)
+		{
+			if (operator.getGraph() != null)
+				throw new IllegalArgumentException(operator + 
+						" is already part of another graph");
+			
+			node = new Node(operator);
+			operator.setGraph(this);
+			this.nodes.put(operator, node);
+		}
+		
+		return node;
+	}
+	
+	private void removeIfDisconnected(Node node)
+	{
+		if (node.sources.isEmpty() && node.children.isEmpty())
+		{
+			this.nodes.remove(node.operator);
+			node.operator.setGraph(null);
+		}
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class Node
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private StateOperator operator;
+		private List<StateOperator> sources;
+		private List<Node> children;
+		private int rank;
+		private boolean queued;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public Node(StateOperator operator)
+		{
+			this.operator = operator;
+			this.sources = new ArrayList<>();
+			this.children = new ArrayList<>();
+			this.rank = 0;
+			this.queued = false;
+		}
+	}
+	
+	private static class RankComparator implements Comparator<Node>
+	{
+		@Override
+		public int compare(Node o1, Node o2)
+		{
+			return Integer.compare(o1.rank, o2.rank);
+		}
+	}
+}
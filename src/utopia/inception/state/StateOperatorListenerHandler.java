@@ -1,5 +1,6 @@
 package utopia.inception.state;
 
+import utopia.inception.handling.Handled;
 import utopia.inception.handling.Handler;
 import utopia.inception.handling.HandlerType;
 import utopia.inception.handling.InceptionHandlerType;
@@ -15,8 +16,18 @@ public class StateOperatorListenerHandler extends Handler<StateOperatorListener>
 {
 	// ATTRIBUTES	------------------------------------
 	
+	/**
+	 * How many listeners are checked for collected weak listeners each time a weak listener 
+	 * is added
+	 */
+	public static final int WEAK_SWEEP_AMOUNT = 4;
+	
 	private StateOperator lastSource;
 	private boolean lastState;
+	private boolean informing = false;
+	// The amount may be too large if weak listeners were removed before they were added, 
+	// which only makes the removal of other listeners slower
+	private int weakListenerAmount = 0;
 	
 	
 	// IMPLEMENTED METHODS	----------------------------
@@ -44,8 +55,71 @@ public class StateOperatorListenerHandler extends Handler<StateOperatorListener>
 		this.lastState = newState;
 		
 		// TODO: Consider setting this false
-		handleObjects(true);
+		this.informing = true;
+		try
+		{
+			handleObjects(true);
+		}
+		finally
+		{
+			this.informing = false;
+			this.lastSource = null;
+		}
+	}
+	
+	@Override
+	public void add(StateOperatorListener l)
+	{
+		if (l instanceof WeakStateOperatorListener)
+		{
+			if (!containsHandled(l))
+				this.weakListenerAmount ++;
+			
+			// Collected listeners are removed gradually, even if the state doesn't change. 
+			// The handleds can't be updated while they are being informed.
+			if (!this.informing)
+			{
+				sweepDeadHandleds(WEAK_SWEEP_AMOUNT);
+				updateStatus();
+			}
+		}
 		
-		this.lastSource = null;
+		super.add(l);
+	}
+	
+	@Override
+	public void removeHandled(Handled h)
+	{
+		// The listener is searched for as a weakly added listener only if it wasn't added 
+		// directly
+		if (this.weakListenerAmount > 0 && h instanceof StateOperatorListener && 
+				!(h instanceof WeakStateOperatorListener) && !containsHandled(h))
+			super.removeHandled(new WeakStateOperatorListener((StateOperatorListener) h));
+		else
+			super.removeHandled(h);
+	}
+	
+	@Override
+	protected void onHandledRemoved(StateOperatorListener l)
+	{
+		if (l instanceof WeakStateOperatorListener && this.weakListenerAmount > 0)
+			this.weakListenerAmount --;
+	}
+	
+	
+	// OTHER METHODS	--------------------------------
+	
+	/**
+	 * Adds a new listener to this handler. The handler only refers to the listener weakly, 
+	 * which means that the listener will be removed from the handler once it is no longer 
+	 * used elsewhere. The collected listeners are removed when the handler informs its 
+	 * listeners the next time. They are also searched for gradually whenever new weak 
+	 * listeners are added.
+	 * @param l The listener that will be informed about state changes
+	 */
+	public void addWeakly(StateOperatorListener l)
+	{
+		if (l != null)
+			add(new WeakStateOperatorListener(l));
 	}
 }
@@ -0,0 +1,44 @@
+package utopia.inception.state;
+
+/**
+ * ThresholdStateOperator has a true state when at least a certain amount of its conditions 
+ * have a true state. The operator keeps count of its true conditions, which makes it 
+ * suitable for large sets of conditions.
+ *
+ * @since 18.10.2026
+ */
+public class ThresholdStateOperator extends WeightedStateOperator
+{
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new operator
+	 * @param requiredAmount How many of the conditions must have a true state in order for 
+	 * this operator to have a true state
+	 * @param conditions The stateOperators that affect this operator
+	 */
+	public ThresholdStateOperator(int requiredAmount, StateOperator... conditions)
+	{
+		super(requiredAmount, conditions);
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * @return How many of the conditions must have a true state in order for this operator 
+	 * to have a true state
+	 */
+	public int getRequiredAmount()
+	{
+		return (int) getThreshold();
+	}
+	
+	/**
+	 * @return How many of the conditions currently have a true state
+	 */
+	public int getTrueAmount()
+	{
+		return (int) getTrueWeight();
+	}
+}
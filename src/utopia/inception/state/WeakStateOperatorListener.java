@@ -0,0 +1,118 @@
+package utopia.inception.state;
+
+import java.lang.ref.WeakReference;
+
+import utopia.inception.handling.HandlingStateOperatorRelay;
+
+/**
+ * WeakStateOperatorListener refers to another listener weakly, so that the listener can be 
+ * collected even while it is registered to a stateOperator. Once the listener has been 
+ * collected, this listener is considered dead and will be removed from the handler.
+ *
+ * @since 18.10.2026
+ * @see StateOperatorListenerHandler#addWeakly(StateOperatorListener)
+ */
+class WeakStateOperatorListener implements StateOperatorListener
+{
+	// ATTRIBUTES	------------------------------
+	
+	private WeakReference<StateOperatorListener> listener;
+	private int hashCode;
+	private StateOperator isDeadOperator;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new listener
+	 * @param listener The listener that is referred weakly
+	 */
+	public WeakStateOperatorListener(StateOperatorListener listener)
+	{
+		// Initializes attributes
+		this.listener = new WeakReference<>(listener);
+		this.hashCode = System.identityHashCode(listener);
+		this.isDeadOperator = new ExpirationOperator();
+	}
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	@Override
+	public StateOperator getIsDeadStateOperator()
+	{
+		return this.isDeadOperator;
+	}
+	
+	@Override
+	public HandlingStateOperatorRelay getHandlingOperators()
+	{
+		StateOperatorListener listener = getListener();
+		if (listener == null)
+			return null;
+		else
+			return listener.getHandlingOperators();
+	}
+	
+	@Override
+	public void onStateChange(StateOperator source, boolean newState)
+	{
+		StateOperatorListener listener = getListener();
+		if (listener != null)
+			listener.onStateChange(source, newState);
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		return this.hashCode;
+	}
+	
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+			return true;
+		if (!(obj instanceof WeakStateOperatorListener))
+			return false;
+		
+		// Listeners that refer to the same object are considered equal
+		StateOperatorListener listener = getListener();
+		return listener != null && listener == ((WeakStateOperatorListener) obj).getListener();
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * @return The listener this listener refers to. Null if the listener has been collected.
+	 */
+	public StateOperatorListener getListener()
+	{
+		return this.listener.get();
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	// The listener dies once the referred listener has been collected or has died
+	private class ExpirationOperator extends StateOperator
+	{
+		// CONSTRUCTOR	-----------------------------
+		
+		public ExpirationOperator()
+		{
+			super(false, false);
+		}
+		
+		
+		// IMPLEMENTED METHODS	---------------------
+		
+		@Override
+		public boolean getState()
+		{
+			StateOperatorListener listener = getListener();
+			return listener == null || listener.getIsDeadStateOperator().getState();
+		}
+	}
+}
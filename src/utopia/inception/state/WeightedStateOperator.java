@@ -0,0 +1,225 @@
+package utopia.inception.state;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import utopia.inception.handling.HandlingStateOperatorRelay;
+
+/**
+ * WeightedStateOperator depends from multiple stateOperators, each of which has a weight. 
+ * The operator has a true state when the combined weight of the true conditions reaches a 
+ * threshold. The combined weight is updated whenever a condition changes, so the conditions 
+ * don't need to be checked each time the state is requested. The listeners of this operator 
+ * are informed each time the combined weight crosses the threshold. The weights are summed 
+ * as fixed point numbers with a precision of {@link #WEIGHT_PRECISION}, so that the combined 
+ * weight doesn't drift no matter how many times the conditions change. The conditions are 
+ * kept in a hash map, so adding and removing them doesn't depend on the amount of conditions.
+ *
+ * @since 18.10.2026
+ */
+public class WeightedStateOperator extends LogicalStateOperator
+{
+	// ATTRIBUTES	------------------------------
+	
+	/**
+	 * The smallest difference between weights this operator recognizes
+	 */
+	public static final double WEIGHT_PRECISION = 1.0 / (1 << 20);
+	
+	private Map<StateOperator, Double> weights;
+	private double threshold;
+	// The weights are summed in units of weight precision
+	private long fixedThreshold, fixedTrueWeight;
+	private boolean state;
+	private ConditionListener conditionListener;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new operator. Each of the provided conditions will have the weight of 1.
+	 * @param threshold The combined weight the true conditions must reach in order for this 
+	 * operator to have a true state
+	 * @param conditions The stateOperators that affect this operator
+	 */
+	public WeightedStateOperator(double threshold, StateOperator... conditions)
+	{
+		super();
+		
+		// Initializes attributes
+		this.weights = new LinkedHashMap<>();
+		this.threshold = threshold;
+		this.fixedThreshold = toFixed(threshold);
+		this.fixedTrueWeight = 0;
+		this.state = this.fixedTrueWeight >= this.fixedThreshold;
+		this.conditionListener = new ConditionListener();
+		
+		for (StateOperator operator : conditions)
+		{
+			addConditionOperator(operator);
+		}
+	}
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	@Override
+	public boolean getState()
+	{
+		return this.state;
+	}
+	
+	@Override
+	protected boolean defineStateFrom(List<StateOperator> conditions)
+	{
+		long weight = 0;
+		for (StateOperator condition : conditions)
+		{
+			if (condition.getState())
+				weight += toFixed(getWeight(condition));
+		}
+		
+		return weight >= this.fixedThreshold;
+	}
+	
+	@Override
+	public void addConditionOperator(StateOperator operator)
+	{
+		addConditionOperator(operator, 1);
+	}
+	
+	@Override
+	public void removeConditionOperator(StateOperator operator)
+	{
+		Double weight = this.weights.remove(operator);
+		if (weight == null)
+			return;
+		
+		operator.removeListener(this.conditionListener);
+		
+		if (operator.getState())
+			updateTrueWeight(-toFixed(weight));
+	}
+	
+	
+	// ACCESSORS	---------------------------------
+	
+	/**
+	 * @return The combined weight the true conditions must reach in order for this operator 
+	 * to have a true state
+	 */
+	public double getThreshold()
+	{
+		return this.threshold;
+	}
+	
+	/**
+	 * @return The current combined weight of the true conditions
+	 */
+	public double getTrueWeight()
+	{
+		return this.fixedTrueWeight * WEIGHT_PRECISION;
+	}
+	
+	/**
+	 * @param condition A condition of this operator
+	 * @return The weight of the condition. 0 if the operator isn't a condition of this 
+	 * operator.
+	 */
+	public double getWeight(StateOperator condition)
+	{
+		Double weight = this.weights.get(condition);
+		if (weight == null)
+			return 0;
+		else
+			return weight;
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Adds a new stateOperator this one is dependent from
+	 * @param operator The operator this operator will depend from
+	 * @param weight How much the operator weighs when it has a true state
+	 */
+	public void addConditionOperator(StateOperator operator, double weight)
+	{
+		// The conditions are only kept in the weight map, since searching the superclass' 
+		// condition list would be slow for large amounts of conditions
+		if (operator == null || this.weights.containsKey(operator))
+			return;
+		
+		this.weights.put(operator, weight);
+		operator.addListener(this.conditionListener);
+		
+		if (operator.getState())
+			updateTrueWeight(toFixed(weight));
+	}
+	
+	private void updateTrueWeight(long change)
+	{
+		this.fixedTrueWeight += change;
+		
+		// Listeners are only informed when the threshold is crossed
+		boolean newState = this.fixedTrueWeight >= this.fixedThreshold;
+		if (newState != this.state)
+		{
+			informListeners(newState);
+			this.state = newState;
+			propagateStateChange();
+		}
+	}
+	
+	
+	private static long toFixed(double weight)
+	{
+		return Math.round(weight / WEIGHT_PRECISION);
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private class ConditionListener implements StateOperatorListener
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private StateOperator isDeadOperator;
+		private HandlingStateOperatorRelay handlingOperators;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public ConditionListener()
+		{
+			this.isDeadOperator = new StateOperator(false, false);
+			this.handlingOperators = new HandlingStateOperatorRelay(
+					new StateOperator(true, false));
+		}
+		
+		
+		// IMPLEMENTED METHODS	---------------------
+		
+		@Override
+		public StateOperator getIsDeadStateOperator()
+		{
+			return this.isDeadOperator;
+		}
+		
+		@Override
+		public HandlingStateOperatorRelay getHandlingOperators()
+		{
+			return this.handlingOperators;
+		}
+		
+		@Override
+		public void onStateChange(StateOperator source, boolean newState)
+		{
+			// The change is only applied for the current conditions
+			Double weight = WeightedStateOperator.this.weights.get(source);
+			if (weight != null)
+				updateTrueWeight(newState ? toFixed(weight) : -toFixed(weight));
+		}
+	}
+}
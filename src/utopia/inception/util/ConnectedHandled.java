@@ -19,6 +19,7 @@ public class ConnectedHandled<T extends Handled> implements Handled
 	private T master;
 	private StateOperator isDeadOperator;
 	private HandlingStateOperatorRelay separateHandlingOperators;
+	private final boolean weaklyDependent;
 	
 	
 	// CONSTRUCTOR	---------------------------------
@@ -30,8 +31,25 @@ public class ConnectedHandled<T extends Handled> implements Handled
 	 * @see HandlerRelay#add(Handled...)
 	 */
 	public ConnectedHandled(T master)
+	{
+		this(master, false);
+	}
+	
+	/**
+	 * Creates a new object. The object will be dependent from the given master object. 
+	 * Remember to add the object to a handlerRelay afterwards.
+	 * @param master The object this object depends from.
+	 * @param weaklyDependent Should the masters refer to this object's state only weakly. 
+	 * If true, a previous master no longer keeps this object's state alive after the 
+	 * master has been changed, and this object's state stops following the master once 
+	 * this object is no longer used.
+	 * @see HandlerRelay#add(Handled...)
+	 * @see DependentStateOperator#DependentStateOperator(StateOperator, boolean)
+	 */
+	public ConnectedHandled(T master, boolean weaklyDependent)
 	{
 		// Initializes attributes
+		this.weaklyDependent = weaklyDependent;
 		if (master != null)
 			setMaster(master);
 		else
@@ -82,7 +100,7 @@ public class ConnectedHandled<T extends Handled> implements Handled
 		{
 			StateOperator previous = this.isDeadOperator;
 			this.isDeadOperator = new DependentStateOperator(
-					newMaster.getIsDeadStateOperator());
+					newMaster.getIsDeadStateOperator(), this.weaklyDependent);
 			this.isDeadOperator.transferListenersFrom(previous);
 		}
 
@@ -0,0 +1,272 @@
+package utopia.inception.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import utopia.inception.handling.Handled;
+import utopia.inception.handling.Handler;
+
+/**
+ * ScheduledHandler only handles its handleds at the ticks they have been scheduled for. Each 
+ * call of handleObjects is a single tick. A handled can be scheduled once or repeatedly. The 
+ * schedules are kept in a timingWheel, so the handleds that are waiting for their turn don't 
+ * cost anything during the ticks. The handleds that are added to the handler without a 
+ * schedule aren't handled until they are scheduled. Dead handleds are removed once they 
+ * become due.<br> 
+ * If handleObject returns false, the rest of the handleds that were due are handled on the 
+ * next tick instead.
+ *
+ * @since 18.10.2026
+ * @param <T> The type of object handled by this handler
+ * @see TimingWheel
+ */
+public abstract class ScheduledHandler<T extends Handled> extends Handler<T>
+{
+	// ATTRIBUTES	------------------------------
+	
+	private final TimingWheel<Activation<T>> wheel;
+	private final Map<Handled, TimingWheel.Entry<Activation<T>>> entries;
+	private final ReentrantLock scheduleLock;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new handler without any scheduled handleds
+	 */
+	public ScheduledHandler()
+	{
+		// Initializes attributes
+		this.wheel = new TimingWheel<>();
+		this.entries = new HashMap<>();
+		this.scheduleLock = new ReentrantLock();
+	}
+	
+	
+	// IMPLEMENTED METHODS	-------------------------
+	
+	/**
+	 * Advances the schedule by one tick and handles the handleds that became due. The whole 
+	 * tick is made while the handleds are locked, like in the other handling methods.
+	 */
+	@Override
+	protected void handleObjects(boolean checkHandlingState)
+	{
+		updateStatus();
+		
+		// Each tick has its own buffer, so overlapping ticks can't see each other's handleds
+		List<Activation<T>> activated = new ArrayList<>();
+		boolean handlingSkipped = false;
+		
+		lockHandling();
+		try
+		{
+			this.scheduleLock.lock();
+			try
+			{
+				this.wheel.advance(activated);
+			}
+			finally { this.scheduleLock.unlock(); }
+			
+			for (int i = 0; i < activated.size(); i++)
+			{
+				Activation<T> activation = activated.get(i);
+				T h = activation.handled;
+				
+				if (h.getIsDeadStateOperator().getState())
+					removeHandled(h);
+				else if (handlingSkipped)
+					reschedule(activation, 1);
+				else
+				{
+					// The next activation is scheduled before the handling so that it can be 
+					// changed in handleObject
+					reschedule(activation, activation.period);
+					
+					if ((!checkHandlingState || (h.getHandlingOperators() != null && 
+							h.getHandlingOperators().getShouldBeHandledOperator(
+							getHandlerType()).getState())) && !handleObject(h))
+						handlingSkipped = true;
+				}
+			}
+		}
+		finally { unlockHandling(); }
+		
+		updateStatus();
+	}
+	
+	/**
+	 * Removes the handled and cancels its schedule
+	 */
+	@Override
+	public void removeHandled(Handled h)
+	{
+		cancel(h);
+		super.removeHandled(h);
+	}
+	
+	/**
+	 * Removes all the handleds and cancels their schedules
+	 */
+	@Override
+	public void removeAllHandleds()
+	{
+		super.removeAllHandleds();
+		// The handleds that were waiting to be added are dropped without removal
+		cancelAll();
+	}
+	
+	@Override
+	protected void onHandledsCleared()
+	{
+		cancelAll();
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Schedules a handled to be handled once. The handled is added to this handler if it 
+	 * isn't already. A previous schedule of the handled is replaced.
+	 * @param h The handled that is scheduled
+	 * @param delayTicks After how many ticks the handled is handled. Values smaller than 1 
+	 * mean the next tick.
+	 */
+	public void schedule(T h, long delayTicks)
+	{
+		schedule(h, delayTicks, 0);
+	}
+	
+	/**
+	 * Schedules a handled to be handled repeatedly. The handled is added to this handler if 
+	 * it isn't already. A previous schedule of the handled is replaced.
+	 * @param h The handled that is scheduled
+	 * @param delayTicks After how many ticks the handled is handled the first time. Values 
+	 * smaller than 1 mean the next tick.
+	 * @param periodTicks How many ticks there are between the handlings
+	 * @throws IllegalArgumentException If the period is smaller than 1
+	 */
+	public void scheduleRepeating(T h, long delayTicks, long periodTicks) throws 
+			IllegalArgumentException
+	{
+		if (periodTicks < 1)
+			throw new IllegalArgumentException("Scheduling period must be positive");
+		schedule(h, delayTicks, periodTicks);
+	}
+	
+	/**
+	 * Cancels the schedule of a handled. The handled stays in the handler but it won't be 
+	 * handled until it is scheduled again.
+	 * @param h The handled whose schedule is cancelled
+	 * @return Was the handled scheduled
+	 */
+	public boolean cancel(Handled h)
+	{
+		this.scheduleLock.lock();
+		try
+		{
+			return this.wheel.cancel(this.entries.remove(h));
+		}
+		finally { this.scheduleLock.unlock(); }
+	}
+	
+	/**
+	 * @param h A handled
+	 * @return Is the handled scheduled to be handled
+	 */
+	public boolean isScheduled(Handled h)
+	{
+		this.scheduleLock.lock();
+		try
+		{
+			return this.entries.containsKey(h);
+		}
+		finally { this.scheduleLock.unlock(); }
+	}
+	
+	/**
+	 * @return How many handleds are currently scheduled
+	 */
+	public int getScheduledAmount()
+	{
+		this.scheduleLock.lock();
+		try
+		{
+			return this.entries.size();
+		}
+		finally { this.scheduleLock.unlock(); }
+	}
+	
+	private void cancelAll()
+	{
+		this.scheduleLock.lock();
+		try
+		{
+			for (TimingWheel.Entry<Activation<T>> entry : this.entries.values())
+			{
+				this.wheel.cancel(entry);
+			}
+			this.entries.clear();
+		}
+		finally { this.scheduleLock.unlock(); }
+	}
+	
+	private void schedule(T h, long delayTicks, long periodTicks)
+	{
+		if (h == null)
+			return;
+		
+		add(h);
+		
+		this.scheduleLock.lock();
+		try
+		{
+			this.wheel.cancel(this.entries.get(h));
+			this.entries.put(h, this.wheel.schedule(new Activation<>(h, periodTicks), 
+					delayTicks));
+		}
+		finally { this.scheduleLock.unlock(); }
+	}
+	
+	private void reschedule(Activation<T> activation, long delayTicks)
+	{
+		this.scheduleLock.lock();
+		try
+		{
+			// The schedule may have been cancelled or replaced in the meantime
+			TimingWheel.Entry<Activation<T>> entry = this.entries.get(activation.handled);
+			if (entry == null || entry.getTarget() != activation)
+				return;
+			
+			if (delayTicks > 0)
+				this.entries.put(activation.handled, this.wheel.schedule(activation, 
+						delayTicks));
+			else
+				this.entries.remove(activation.handled);
+		}
+		finally { this.scheduleLock.unlock(); }
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class Activation<T>
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final T handled;
+		private final long period;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		public Activation(T handled, long period)
+		{
+			this.handled = handled;
+			this.period = period;
+		}
+	}
+}
@@ -0,0 +1,249 @@
+package utopia.inception.util;
+
+import java.util.List;
+
+/**
+ * TimingWheel keeps track of objects that should be activated after a certain amount of 
+ * ticks. The wheel consists of multiple levels of 64 slots each. The first level holds the 
+ * objects that are due within the next 64 ticks, each slot containing a single tick. Each 
+ * following level covers 64 times as long a time, and its objects are moved to the lower 
+ * levels as their time approaches. This way both scheduling and cancelling take a constant 
+ * time, and the objects that aren't due yet don't cost anything while the wheel advances. 
+ * <br> 
+ * The wheel is not synchronized.
+ *
+ * @since 18.10.2026
+ * @param <T> The type of object scheduled in the wheel
+ */
+public class TimingWheel<T>
+{
+	// ATTRIBUTES	------------------------------
+	
+	private static final int SLOT_BITS = 6;
+	private static final int SLOT_AMOUNT = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOT_AMOUNT - 1;
+	private static final int LEVEL_AMOUNT = 6;
+	private static final long MAX_DELAY = (1L << (SLOT_BITS * LEVEL_AMOUNT)) - 1;
+	
+	private final Entry<T>[][] slots;
+	private long currentTick;
+	private int size;
+	
+	
+	// CONSTRUCTOR	------------------------------
+	
+	/**
+	 * Creates a new empty wheel at tick 0
+	 */
+	@SuppressWarnings("unchecked")
+	public TimingWheel()
+	{
+		// Initializes attributes
+		this.slots = (Entry<T>[][]) new Entry<?>[LEVEL_AMOUNT][SLOT_AMOUNT];
+		this.currentTick = 0;
+		this.size = 0;
+	}
+	
+	
+	// ACCESSORS	---------------------------------
+	
+	/**
+	 * @return The latest tick the wheel has advanced to
+	 */
+	public long getCurrentTick()
+	{
+		return this.currentTick;
+	}
+	
+	/**
+	 * @return How many objects are currently scheduled
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+	
+	
+	// OTHER METHODS	-----------------------------
+	
+	/**
+	 * Schedules an object to be activated after the given amount of ticks
+	 * @param target The object that is scheduled
+	 * @param delayTicks After how many ticks the object is activated. Values smaller than 1 
+	 * activate the object on the next tick.
+	 * @return An entry that can be used for cancelling the activation
+	 */
+	public Entry<T> schedule(T target, long delayTicks)
+	{
+		// Very long delays are limited so that the due tick doesn't overflow
+		long delay = Math.max(1, delayTicks);
+		long dueTick = delay > Long.MAX_VALUE - this.currentTick ? Long.MAX_VALUE : 
+				this.currentTick + delay;
+		
+		Entry<T> entry = new Entry<>(target, dueTick);
+		insert(entry);
+		this.size ++;
+		
+		return entry;
+	}
+	
+	/**
+	 * Cancels a scheduled activation
+	 * @param entry The entry returned when the object was scheduled
+	 * @return Was the activation cancelled. False if the object was already activated or 
+	 * cancelled.
+	 */
+	public boolean cancel(Entry<T> entry)
+	{
+		if (entry == null || entry.level < 0)
+			return false;
+		
+		unlink(entry);
+		this.size --;
+		return true;
+	}
+	
+	/**
+	 * Advances the wheel by one tick
+	 * @param activated The list the objects that became due are added to
+	 * @return How many objects were activated
+	 */
+	public int advance(List<? super T> activated)
+	{
+		long tick = this.currentTick + 1;
+		
+		// The higher levels are moved down whenever the lower level completes a round
+		for (int level = 1; level < LEVEL_AMOUNT; level++)
+		{
+			if (((tick >>> (SLOT_BITS * (level - 1))) & SLOT_MASK) != 0)
+				break;
+			cascade(level, (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK));
+		}
+		this.currentTick = tick;
+		
+		int amount = 0;
+		int slot = (int) (tick & SLOT_MASK);
+		Entry<T> entry = this.slots[0][slot];
+		this.slots[0][slot] = null;
+		while (entry != null)
+		{
+			Entry<T> next = entry.next;
+			entry.level = -1;
+			entry.previous = null;
+			entry.next = null;
+			activated.add(entry.target);
+			amount ++;
+			entry = next;
+		}
+		this.size -= amount;
+		
+		return amount;
+	}
+	
+	private void cascade(int level, int slot)
+	{
+		Entry<T> entry = this.slots[level][slot];
+		this.slots[level][slot] = null;
+		while (entry != null)
+		{
+			Entry<T> next = entry.next;
+			insert(entry);
+			entry = next;
+		}
+	}
+	
+	private void insert(Entry<T> entry)
+	{
+		// The level is chosen based on how far in the future the entry is due
+		long base = this.currentTick + 1;
+		long dueTick = Math.max(base, entry.dueTick);
+		long delay = Math.min(dueTick - base, MAX_DELAY);
+		
+		int level = 0;
+		while (level < LEVEL_AMOUNT - 1 && delay >= 1L << (SLOT_BITS * (level + 1)))
+		{
+			level ++;
+		}
+		int slot = (int) (((base + delay) >>> (SLOT_BITS * level)) & SLOT_MASK);
+		
+		Entry<T> first = this.slots[level][slot];
+		entry.level = level;
+		entry.slot = slot;
+		entry.previous = null;
+		entry.next = first;
+		if (first != null)
+			first.previous = entry;
+		this.slots[level][slot] = entry;
+	}
+	
+	private void unlink(Entry<T> entry)
+	{
+		if (entry.previous == null)
+			this.slots[entry.level][entry.slot] = entry.next;
+		else
+			entry.previous.next = entry.next;
+		if (entry.next != null)
+			entry.next.previous = entry.previous;
+		
+		entry.level = -1;
+		entry.previous = null;
+		entry.next = null;
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	/**
+	 * Entry represents a single scheduled activation in a timingWheel
+	 *
+	 * @since 18.10.2026
+	 * @param <T> The type of the scheduled object
+	 */
+	public static class Entry<T>
+	{
+		// ATTRIBUTES	-----------------------------
+		
+		private final T target;
+		private final long dueTick;
+		private int level, slot;
+		private Entry<T> previous, next;
+		
+		
+		// CONSTRUCTOR	-----------------------------
+		
+		private Entry(T target, long dueTick)
+		{
+			this.target = target;
+			this.dueTick = dueTick;
+			this.level = -1;
+			this.slot = 0;
+		}
+		
+		
+		// ACCESSORS	-----------------------------
+		
+		/**
+		 * @return The scheduled object
+		 */
+		public T getTarget()
+		{
+			return this.target;
+		}
+		
+		/**
+		 * @return The tick at which the object is activated
+		 */
+		public long getDueTick()
+		{
+			return this.dueTick;
+		}
+		
+		/**
+		 * @return Is the object still waiting for activation
+		 */
+		public boolean isScheduled()
+		{
+			return this.level >= 0;
+		}
+	}
+}
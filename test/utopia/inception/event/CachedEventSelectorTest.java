@@ -0,0 +1,65 @@
+package utopia.inception.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class CachedEventSelectorTest
+{
+	@Test
+	public void repeatedCombinationsAreFoundFromTheCache()
+	{
+		StrictEventSelector selector = new StrictEventSelector();
+		selector.addRequiredFeature(TestFeature.A);
+		CachedEventSelector cached = new CachedEventSelector(selector, 4);
+		
+		assertTrue(cached.selects(new TestEvent(TestFeature.A)));
+		assertTrue(cached.selects(new TestEvent(TestFeature.A)));
+		assertFalse(cached.selects(new TestEvent(TestFeature.B)));
+		assertFalse(cached.selects(new TestEvent(TestFeature.B)));
+		
+		assertEquals(2, cached.getHitAmount());
+		assertEquals(2, cached.getMissAmount());
+		assertEquals(2, cached.getCachedAmount());
+	}
+	
+	@Test
+	public void leastRecentlyUsedResultIsForgotten()
+	{
+		CachedEventSelector cached = new CachedEventSelector(
+				StrictEventSelector.createAllAcceptingSelector(), 2);
+		cached.selects(new TestEvent(TestFeature.A));
+		cached.selects(new TestEvent(TestFeature.B));
+		cached.selects(new TestEvent(TestFeature.A));
+		cached.selects(new TestEvent(TestFeature.C));
+		
+		// B was the least recently used, so it has to be tested again
+		cached.selects(new TestEvent(TestFeature.A));
+		assertEquals(2, cached.getHitAmount());
+		cached.selects(new TestEvent(TestFeature.B));
+		assertEquals(4, cached.getMissAmount());
+		assertEquals(2, cached.getCachedAmount());
+	}
+	
+	@Test
+	public void resultTestedDuringClearIsNotCached()
+	{
+		final CachedEventSelector[] cached = new CachedEventSelector[1];
+		EventSelector clearing = new EventSelector()
+		{
+			@Override
+			public boolean selects(Event event)
+			{
+				// The cached selector is modified while it is being tested
+				cached[0].clearCache();
+				return true;
+			}
+		};
+		cached[0] = new CachedEventSelector(clearing, 4);
+		
+		cached[0].selects(new TestEvent(TestFeature.A));
+		assertEquals(0, cached[0].getCachedAmount());
+	}
+}
@@ -0,0 +1,96 @@
+package utopia.inception.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CoalescingEventBufferTest
+{
+	@Test
+	public void latestEventPerKeyIsDeliveredAfterTheOthers()
+	{
+		StrictEventSelector coalesced = new StrictEventSelector();
+		coalesced.addRequiredFeature(TestFeature.A);
+		CoalescingEventBuffer buffer = new CoalescingEventBuffer(new EventQueue(8), coalesced, 
+				new FeatureSet(TestFeature.B, TestFeature.C), 4);
+		
+		Event other = new TestEvent(TestFeature.D);
+		Event firstB = new TestEvent(TestFeature.A, TestFeature.B);
+		Event c = new TestEvent(TestFeature.A, TestFeature.C);
+		Event secondB = new TestEvent(TestFeature.A, TestFeature.B, TestFeature.E);
+		buffer.offer(firstB);
+		buffer.offer(other);
+		buffer.offer(c);
+		buffer.offer(secondB);
+		
+		assertEquals(3, buffer.size());
+		assertEquals(1, buffer.getCoalescedAmount());
+		assertEquals(Arrays.asList(other, secondB, c), drain(buffer));
+	}
+	
+	@Test
+	public void eventsWithTheSameKeyAreMerged()
+	{
+		final Event merged = new TestEvent(TestFeature.A);
+		EventMerger merger = new EventMerger()
+		{
+			@Override
+			public Event merge(Event previous, Event next)
+			{
+				return merged;
+			}
+		};
+		CoalescingEventBuffer buffer = new CoalescingEventBuffer(new EventQueue(8), 
+				StrictEventSelector.createAllAcceptingSelector(),
+				new FeatureSet(TestFeature.A), 4, merger);
+		buffer.offer(new TestEvent(TestFeature.A));
+		buffer.offer(new TestEvent(TestFeature.A));
+		
+		List<Event> events = drain(buffer);
+		assertEquals(1, events.size());
+		assertSame(merged, events.get(0));
+	}
+	
+	@Test
+	public void extraKeysGoToTheOtherBuffer()
+	{
+		EventQueue other = new EventQueue(8);
+		CoalescingEventBuffer buffer = new CoalescingEventBuffer(other, 
+				StrictEventSelector.createAllAcceptingSelector(),
+				new FeatureSet(TestFeature.A, TestFeature.B), 1);
+		buffer.offer(new TestEvent(TestFeature.A));
+		buffer.offer(new TestEvent(TestFeature.B));
+		
+		assertEquals(1, other.size());
+		assertEquals(2, buffer.size());
+	}
+	
+	@Test
+	public void eventsWithoutKeyFeaturesAreNotCoalesced()
+	{
+		CoalescingEventBuffer buffer = new CoalescingEventBuffer(new EventQueue(8), 
+				StrictEventSelector.createAllAcceptingSelector(),
+				new FeatureSet(TestFeature.A), 4);
+		Event first = new TestEvent(TestFeature.C);
+		Event second = new TestEvent(TestFeature.D);
+		Event keyed = new TestEvent(TestFeature.A);
+		buffer.offer(first);
+		buffer.offer(keyed);
+		buffer.offer(second);
+		
+		assertEquals(0, buffer.getCoalescedAmount());
+		assertEquals(Arrays.asList(first, second, keyed), drain(buffer));
+	}
+	
+	private static List<Event> drain(EventBuffer buffer)
+	{
+		List<Event> events = new ArrayList<>();
+		buffer.drainTo(events, Integer.MAX_VALUE);
+		return events;
+	}
+}
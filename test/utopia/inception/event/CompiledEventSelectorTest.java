@@ -0,0 +1,69 @@
+package utopia.inception.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class CompiledEventSelectorTest
+{
+	@Test
+	public void compiledSelectorSelectsLikeTheOriginal()
+	{
+		MultiEventSelector multi = new MultiEventSelector();
+		multi.addOption(createSelector(new TestFeature[] {TestFeature.A, TestFeature.B}, 
+				new TestFeature[] {TestFeature.E}));
+		multi.addOption(createSelector(new TestFeature[] {TestFeature.A, TestFeature.C}, 
+				new TestFeature[] {TestFeature.E}));
+		multi.addOption(createSelector(new TestFeature[] {TestFeature.D}, 
+				new TestFeature[0]));
+		CompiledEventSelector compiled = multi.compile();
+		
+		// Goes through every combination of the features
+		TestFeature[] features = TestFeature.values();
+		for (int mask = 0; mask < 1 << features.length; mask++)
+		{
+			int amount = Integer.bitCount(mask);
+			TestFeature[] eventFeatures = new TestFeature[amount];
+			int i = 0;
+			for (int bit = 0; bit < features.length; bit++)
+			{
+				if ((mask & (1 << bit)) != 0)
+					eventFeatures[i ++] = features[bit];
+			}
+			
+			Event event = new TestEvent(eventFeatures);
+			assertEquals(event.toString(), multi.selects(event), compiled.selects(event));
+		}
+	}
+	
+	@Test
+	public void coveredTermsAreDropped()
+	{
+		MultiEventSelector multi = new MultiEventSelector();
+		multi.addOption(createSelector(new TestFeature[] {TestFeature.A}, new TestFeature[0]));
+		multi.addOption(createSelector(new TestFeature[] {TestFeature.A, TestFeature.B}, 
+				new TestFeature[0]));
+		CompiledEventSelector compiled = multi.compile();
+		
+		assertEquals(1, compiled.getTermAmount());
+		assertTrue(compiled.selects(new TestEvent(TestFeature.A)));
+		assertFalse(compiled.selects(new TestEvent(TestFeature.B)));
+	}
+	
+	private static StrictEventSelector createSelector(TestFeature[] required, 
+			TestFeature[] unacceptable)
+	{
+		StrictEventSelector selector = new StrictEventSelector();
+		for (TestFeature feature : required)
+		{
+			selector.addRequiredFeature(feature);
+		}
+		for (TestFeature feature : unacceptable)
+		{
+			selector.addUnacceptableFeature(feature);
+		}
+		return selector;
+	}
+}
@@ -0,0 +1,117 @@
+package utopia.inception.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import utopia.inception.event.EventAggregator.Group;
+import utopia.inception.state.StateOperator;
+
+public class EventAggregatorTest
+{
+	@Test
+	public void slidingCountForgetsOldBuckets()
+	{
+		TestAggregator aggregator = new TestAggregator(0);
+		Group group = aggregator.addGroup(createSelector(TestFeature.A));
+		
+		aggregator.receive(0, TestFeature.A);
+		aggregator.receive(15, TestFeature.A);
+		aggregator.receive(16, TestFeature.B);
+		assertEquals(2, group.getSlidingCount());
+		
+		// The first bucket falls out of the window
+		aggregator.time = 35;
+		assertEquals(1, group.getSlidingCount());
+		aggregator.time = 1000;
+		assertEquals(0, group.getSlidingCount());
+		assertEquals(2, group.getTotalCount());
+	}
+	
+	@Test
+	public void tumblingCountContainsTheLatestCompleteWindow()
+	{
+		TestAggregator aggregator = new TestAggregator(0);
+		Group group = aggregator.addGroup(createSelector(TestFeature.A));
+		
+		aggregator.receive(0, TestFeature.A);
+		aggregator.receive(25, TestFeature.A);
+		assertEquals(0, group.getTumblingCount());
+		
+		aggregator.receive(30, TestFeature.A);
+		assertEquals(2, group.getTumblingCount());
+		
+		// A skipped window leaves the tumbling count empty
+		aggregator.time = 90;
+		assertEquals(0, group.getTumblingCount());
+	}
+	
+	@Test
+	public void negativeTimesAreCounted()
+	{
+		TestAggregator aggregator = new TestAggregator(-25);
+		Group group = aggregator.addGroup(createSelector(TestFeature.A));
+		
+		aggregator.receive(-25, TestFeature.A);
+		aggregator.receive(-5, TestFeature.A);
+		assertEquals(2, group.getSlidingCount());
+		
+		// The window of buckets -3 to -1 is complete once the time reaches zero
+		aggregator.time = 0;
+		assertEquals(1, group.getSlidingCount());
+		assertEquals(2, group.getTumblingCount());
+	}
+	
+	@Test
+	public void thresholdTriggerFollowsTheCount()
+	{
+		TestAggregator aggregator = new TestAggregator(0);
+		Group group = aggregator.addGroup(createSelector(TestFeature.A));
+		StateOperator trigger = group.createThresholdTrigger(2, true);
+		
+		aggregator.receive(0, TestFeature.A);
+		assertFalse(trigger.getState());
+		aggregator.receive(5, TestFeature.A);
+		assertTrue(trigger.getState());
+		
+		aggregator.time = 100;
+		aggregator.update();
+		assertFalse(trigger.getState());
+	}
+	
+	private static EventSelector createSelector(TestFeature feature)
+	{
+		StrictEventSelector selector = new StrictEventSelector();
+		selector.addRequiredFeature(feature);
+		return selector;
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class TestAggregator extends EventAggregator
+	{
+		private long time;
+		
+		public TestAggregator(long startTime)
+		{
+			// Buckets of 10 ns, 3 buckets in a window
+			super(10, 3);
+			this.time = startTime;
+		}
+		
+		@Override
+		protected long getCurrentTime()
+		{
+			return this.time;
+		}
+		
+		public void receive(long time, TestFeature feature)
+		{
+			this.time = time;
+			onEvent(new TestEvent(feature));
+		}
+	}
+}
@@ -0,0 +1,241 @@
+package utopia.inception.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import utopia.inception.event.Event.Feature;
+
+public class EventJournalTest
+{
+	@Test
+	public void eventsAreReadInTheOrderTheyWereWritten() throws IOException
+	{
+		File file = File.createTempFile("journal", ".bin");
+		try
+		{
+			write(file, new TestCodec(false));
+			
+			EventJournalReader reader = new EventJournalReader(file, new TestCodec(false));
+			try
+			{
+				Event first = reader.readNext();
+				assertEquals(Arrays.asList(TestFeature.A, TestFeature.B), first.getFeatures());
+				assertEquals(100, reader.getLastEventTime());
+				
+				Event second = reader.readNext();
+				assertEquals(Arrays.asList(TestFeature.C), second.getFeatures());
+				assertEquals(200, reader.getLastEventTime());
+				
+				Event third = reader.readNext();
+				assertEquals(Arrays.asList(TestFeature.B), third.getFeatures());
+				assertEquals(300, reader.getLastEventTime());
+				
+				assertNull(reader.readNext());
+			}
+			finally { reader.close(); }
+		}
+		finally { file.delete(); }
+	}
+	
+	@Test
+	public void truncatedJournalThrowsIOException() throws IOException
+	{
+		File file = File.createTempFile("journal", ".bin");
+		try
+		{
+			long length = write(file, new TestCodec(false));
+			// Cuts the last event in the middle
+			RandomAccessFile raf = new RandomAccessFile(file, "rw");
+			try
+			{
+				raf.setLength(length - 6);
+			}
+			finally { raf.close(); }
+			
+			EventJournalReader reader = new EventJournalReader(file, new TestCodec(false));
+			try
+			{
+				reader.readNext();
+				reader.readNext();
+				reader.readNext();
+				fail("Truncated event was read");
+			}
+			catch (IOException e)
+			{
+				// Expected
+			}
+			finally { reader.close(); }
+		}
+		finally { file.delete(); }
+	}
+	
+	@Test
+	public void corruptedPayloadThrowsIOException() throws IOException
+	{
+		File file = File.createTempFile("journal", ".bin");
+		try
+		{
+			// The payloads are too short for the codec that reads them
+			write(file, new TestCodec(true));
+			
+			EventJournalReader reader = new EventJournalReader(file, new TestCodec(false));
+			try
+			{
+				reader.readNext();
+				fail("Corrupted event was read");
+			}
+			catch (IOException e)
+			{
+				// Expected
+			}
+			finally { reader.close(); }
+		}
+		finally { file.delete(); }
+	}
+	
+	@Test
+	public void fileThatIsNotAJournalIsRejected() throws IOException
+	{
+		File file = File.createTempFile("journal", ".bin");
+		try
+		{
+			RandomAccessFile raf = new RandomAccessFile(file, "rw");
+			try
+			{
+				raf.writeShort(12);
+			}
+			finally { raf.close(); }
+			
+			try
+			{
+				new EventJournalReader(file, new TestCodec(false)).close();
+				fail("Invalid journal was opened");
+			}
+			catch (IOException e)
+			{
+				// Expected
+			}
+		}
+		finally { file.delete(); }
+	}
+	
+	@Test
+	public void overwrittenJournalEndsAtItsOwnLength() throws IOException
+	{
+		File file = File.createTempFile("journal", ".bin");
+		try
+		{
+			write(file, new TestCodec(false));
+			EventJournalWriter writer = new EventJournalWriter(file, new TestCodec(false));
+			try
+			{
+				writer.write(new TestEvent(TestFeature.D), 50);
+			}
+			finally { writer.close(); }
+			
+			EventJournalReader reader = new EventJournalReader(file, new TestCodec(false));
+			try
+			{
+				assertEquals(Arrays.asList(TestFeature.D), reader.readNext().getFeatures());
+				assertNull(reader.readNext());
+			}
+			finally { reader.close(); }
+		}
+		finally { file.delete(); }
+	}
+	
+	@Test
+	public void unclosedJournalEndsAtTheLastRecord() throws IOException
+	{
+		File file = File.createTempFile("journal", ".bin");
+		try
+		{
+			// The earlier journal is longer than the one that is left open
+			write(file, new TestCodec(false));
+			EventJournalWriter writer = new EventJournalWriter(file, new TestCodec(false));
+			try
+			{
+				writer.write(new TestEvent(TestFeature.E), 50);
+				
+				EventJournalReader reader = new EventJournalReader(file, 
+						new TestCodec(false));
+				try
+				{
+					assertEquals(Arrays.asList(TestFeature.E), 
+							reader.readNext().getFeatures());
+					assertNull(reader.readNext());
+				}
+				finally { reader.close(); }
+			}
+			finally { writer.close(); }
+		}
+		finally { file.delete(); }
+	}
+	
+	// Returns the length of the journal
+	private static long write(File file, EventCodec codec) throws IOException
+	{
+		EventJournalWriter writer = new EventJournalWriter(file, codec);
+		try
+		{
+			writer.write(new TestEvent(TestFeature.A, TestFeature.B), 100);
+			writer.write(new TestEvent(TestFeature.C), 200);
+			writer.write(new TestEvent(TestFeature.B), 300);
+		}
+		finally { writer.close(); }
+		
+		return writer.getSize();
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class TestCodec implements EventCodec
+	{
+		private final boolean shortPayloads;
+		
+		public TestCodec(boolean shortPayloads)
+		{
+			this.shortPayloads = shortPayloads;
+		}
+		
+		@Override
+		public String encodeFeature(Feature feature)
+		{
+			return ((TestFeature) feature).name();
+		}
+		
+		@Override
+		public Feature decodeFeature(String name)
+		{
+			return TestFeature.valueOf(name);
+		}
+		
+		@Override
+		public void encodePayload(Event event, ByteBuffer target)
+		{
+			if (this.shortPayloads)
+				target.putShort((short) event.getFeatures().size());
+			else
+				target.putInt(event.getFeatures().size());
+		}
+		
+		@Override
+		public Event decodeEvent(List<Feature> features, ByteBuffer payload)
+		{
+			if (payload.getInt() != features.size())
+				throw new IllegalStateException("Unexpected payload");
+			return new TestEvent(features.toArray(new Feature[features.size()]));
+		}
+	}
+}
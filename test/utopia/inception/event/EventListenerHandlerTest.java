@@ -0,0 +1,203 @@
+package utopia.inception.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import utopia.inception.event.Event.Feature;
+
+import utopia.inception.util.SimpleHandled;
+
+public class EventListenerHandlerTest
+{
+	@Test
+	public void listenersReceiveTheEventsTheySelect()
+	{
+		EventListenerHandler handler = new EventListenerHandler(16, 3);
+		RecordingListener aListener = new RecordingListener(TestFeature.A);
+		RecordingListener bListener = new RecordingListener(TestFeature.B);
+		handler.add(aListener);
+		handler.add(bListener);
+		
+		List<Event> aEvents = new ArrayList<>();
+		for (int i = 0; i < 10; i++)
+		{
+			Event event = new TestEvent(i % 2 == 0 ? TestFeature.A : TestFeature.B);
+			if (i % 2 == 0)
+				aEvents.add(event);
+			handler.addEvent(event);
+		}
+		assertEquals(10, handler.getQueuedEventAmount());
+		
+		handler.handleEvents();
+		assertEquals(0, handler.getQueuedEventAmount());
+		assertEquals(aEvents, aListener.events);
+		assertEquals(5, bListener.events.size());
+	}
+	
+	@Test
+	public void eventsAddedDuringDeliveryAreDeliveredNextTime()
+	{
+		final EventListenerHandler handler = new EventListenerHandler();
+		RecordingListener listener = new RecordingListener(TestFeature.A)
+		{
+			@Override
+			public void onEvent(Event event)
+			{
+				super.onEvent(event);
+				if (this.events.size() == 1)
+					handler.addEvent(new TestEvent(TestFeature.A));
+			}
+		};
+		handler.add(listener);
+		handler.addEvent(new TestEvent(TestFeature.A));
+		
+		handler.handleEvents();
+		assertEquals(1, listener.events.size());
+		handler.handleEvents();
+		assertEquals(2, listener.events.size());
+	}
+	
+	@Test
+	public void fullQueueDropsNewEvents()
+	{
+		EventListenerHandler handler = new EventListenerHandler(2, 1);
+		for (int i = 0; i < 5; i++)
+		{
+			handler.addEvent(new TestEvent(TestFeature.A));
+		}
+		
+		assertEquals(2, handler.getQueuedEventAmount());
+		assertEquals(3, handler.getDroppedEventAmount());
+	}
+	
+	@Test
+	public void modifiedSelectorIsUsedAfterUpdate()
+	{
+		EventListenerHandler handler = new EventListenerHandler();
+		RecordingListener listener = new RecordingListener(TestFeature.A);
+		handler.add(listener);
+		handler.handleEvents();
+		
+		listener.selector.addUnacceptableFeature(TestFeature.B);
+		handler.updateSelector(listener);
+		handler.addEvent(new TestEvent(TestFeature.A, TestFeature.B));
+		handler.addEvent(new TestEvent(TestFeature.A));
+		handler.handleEvents();
+		
+		assertEquals(1, listener.events.size());
+	}
+	
+	@Test
+	public void dispatcherReleasesItsOwnReference()
+	{
+		EventPool<PooledEvent> pool = new TestPool();
+		EventListenerHandler handler = new EventListenerHandler();
+		RecordingListener listener = new RecordingListener(TestFeature.A);
+		handler.add(listener);
+		
+		PooledEvent event = pool.obtain();
+		event.addFeature(TestFeature.A);
+		handler.addEvent(event);
+		handler.handleEvents();
+		
+		// The handler has released its reference but the dispatcher still holds one
+		assertEquals(Arrays.asList(event), listener.events);
+		assertEquals(1, event.getReferenceAmount());
+		assertEquals(0, pool.getPooledAmount());
+		
+		event.release();
+		assertEquals(1, pool.getPooledAmount());
+	}
+	
+	@Test
+	public void pooledEventIsSharedByTwoHandlers()
+	{
+		EventPool<PooledEvent> pool = new TestPool();
+		EventListenerHandler first = new EventListenerHandler();
+		EventListenerHandler second = new EventListenerHandler();
+		RecordingListener firstListener = new RecordingListener(TestFeature.A);
+		RecordingListener secondListener = new RecordingListener(TestFeature.A);
+		first.add(firstListener);
+		second.add(secondListener);
+		
+		PooledEvent event = pool.obtain();
+		event.addFeature(TestFeature.A);
+		first.addEvent(event);
+		second.addEvent(event);
+		event.release();
+		
+		// The first delivery mustn't return the event while the second handler holds it
+		first.handleEvents();
+		assertEquals(0, pool.getPooledAmount());
+		assertEquals(1, event.getReferenceAmount());
+		
+		second.handleEvents();
+		assertSame(event, secondListener.events.get(0));
+		assertEquals(Arrays.asList(TestFeature.A), secondListener.features.get(0));
+		assertEquals(1, firstListener.events.size());
+		assertEquals(1, pool.getPooledAmount());
+	}
+	
+	@Test
+	public void droppedPooledEventStaysWithTheDispatcher()
+	{
+		EventPool<PooledEvent> pool = new TestPool();
+		EventListenerHandler handler = new EventListenerHandler(1, 1);
+		handler.addEvent(new TestEvent(TestFeature.A));
+		
+		PooledEvent event = pool.obtain();
+		assertFalse(handler.addEvent(event));
+		assertEquals(1, event.getReferenceAmount());
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class TestPool extends EventPool<PooledEvent>
+	{
+		public TestPool()
+		{
+			super(4);
+		}
+		
+		@Override
+		protected PooledEvent createEvent()
+		{
+			return new PooledEvent(4);
+		}
+	}
+	
+	private static class RecordingListener extends SimpleHandled implements EventListener
+	{
+		protected List<Event> events = new ArrayList<>();
+		// Pooled events are cleared after the delivery, so their features are copied
+		protected List<List<Feature>> features = new ArrayList<>();
+		protected StrictEventSelector selector;
+		
+		public RecordingListener(TestFeature requiredFeature)
+		{
+			this.selector = new StrictEventSelector();
+			this.selector.addRequiredFeature(requiredFeature);
+		}
+		
+		@Override
+		public EventSelector getEventSelector()
+		{
+			return this.selector;
+		}
+		
+		@Override
+		public void onEvent(Event event)
+		{
+			this.events.add(event);
+			this.features.add(new ArrayList<>(event.getFeatures()));
+		}
+	}
+}
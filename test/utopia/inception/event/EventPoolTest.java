@@ -0,0 +1,127 @@
+package utopia.inception.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+public class EventPoolTest
+{
+	@Test
+	public void releasedEventIsReused()
+	{
+		TestPool pool = new TestPool(2);
+		PooledEvent event = pool.obtain();
+		event.addFeature(TestFeature.A);
+		event.release();
+		
+		assertEquals(1, pool.getPooledAmount());
+		PooledEvent reused = pool.obtain();
+		assertSame(event, reused);
+		assertTrue(reused.getFeatures().isEmpty());
+		assertEquals(1, pool.getCreatedAmount());
+	}
+	
+	@Test
+	public void eventIsOnlyReleasedOnce()
+	{
+		TestPool pool = new TestPool(4);
+		PooledEvent event = pool.obtain();
+		event.release();
+		event.release();
+		
+		assertEquals(1, pool.getPooledAmount());
+	}
+	
+	@Test
+	public void fullPoolForgetsReleasedEvents()
+	{
+		TestPool pool = new TestPool(1);
+		PooledEvent first = pool.obtain();
+		PooledEvent second = pool.obtain();
+		first.release();
+		second.release();
+		
+		assertEquals(1, pool.getPooledAmount());
+		assertEquals(2, pool.getCreatedAmount());
+	}
+	
+	@Test
+	public void unchangedFeaturesKeepTheFeatureSet()
+	{
+		TestPool pool = new TestPool(1);
+		PooledEvent event = pool.obtain();
+		event.addFeature(TestFeature.A);
+		event.addFeature(TestFeature.B);
+		FeatureSet set = event.getFeatureSet();
+		
+		event.clearFeatures();
+		event.addFeature(TestFeature.B);
+		event.addFeature(TestFeature.A);
+		assertSame(set, event.getFeatureSet());
+		
+		event.addFeature(TestFeature.C);
+		assertEquals(3, event.getFeatureSet().size());
+	}
+	
+	@Test
+	public void concurrentReleaseOnlyPoolsTheEventOnce() throws InterruptedException
+	{
+		final TestPool pool = new TestPool(16);
+		for (int round = 0; round < 200; round++)
+		{
+			final PooledEvent event = pool.obtain();
+			final CountDownLatch start = new CountDownLatch(1);
+			Thread[] threads = new Thread[4];
+			for (int i = 0; i < threads.length; i++)
+			{
+				threads[i] = new Thread(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						try
+						{
+							start.await();
+						}
+						catch (InterruptedException e)
+						{
+							return;
+						}
+						event.release();
+					}
+				});
+				threads[i].start();
+			}
+			start.countDown();
+			for (Thread thread : threads)
+			{
+				thread.join();
+			}
+			
+			assertEquals(1, pool.getPooledAmount());
+		}
+		
+		assertEquals(1, pool.getCreatedAmount());
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class TestPool extends EventPool<PooledEvent>
+	{
+		public TestPool(int capacity)
+		{
+			super(capacity);
+		}
+		
+		@Override
+		protected PooledEvent createEvent()
+		{
+			return new PooledEvent(4);
+		}
+	}
+}
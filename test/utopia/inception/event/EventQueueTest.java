@@ -0,0 +1,146 @@
+package utopia.inception.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import utopia.inception.event.EventQueue.OverflowPolicy;
+
+public class EventQueueTest
+{
+	@Test
+	public void eventsAreDrainedInOrder()
+	{
+		EventQueue queue = new EventQueue(4);
+		List<Event> added = new ArrayList<>();
+		List<Event> drained = new ArrayList<>();
+		
+		// Wraps around the ring buffer multiple times
+		for (int round = 0; round < 5; round++)
+		{
+			for (int i = 0; i < 3; i++)
+			{
+				Event event = new TestEvent(TestFeature.A);
+				added.add(event);
+				assertTrue(queue.offer(event));
+			}
+			assertEquals(3, queue.size());
+			assertEquals(2, queue.drainTo(drained, 2));
+			assertEquals(1, queue.drainTo(drained, 10));
+			assertTrue(queue.isEmpty());
+		}
+		
+		assertEquals(added.size(), drained.size());
+		for (int i = 0; i < added.size(); i++)
+		{
+			assertSame(added.get(i), drained.get(i));
+		}
+	}
+	
+	@Test
+	public void nullEventsAreIgnored()
+	{
+		EventQueue queue = new EventQueue(1);
+		assertFalse(queue.offer(null));
+		assertEquals(0, queue.size());
+	}
+	
+	@Test
+	public void dropPoliciesKeepTheRightEvents()
+	{
+		Event first = new TestEvent(TestFeature.A);
+		Event second = new TestEvent(TestFeature.B);
+		Event third = new TestEvent(TestFeature.C);
+		
+		EventQueue dropNewest = new EventQueue(2, OverflowPolicy.DROP_NEWEST);
+		EventQueue dropOldest = new EventQueue(2, OverflowPolicy.DROP_OLDEST);
+		for (EventQueue queue : new EventQueue[] {dropNewest, dropOldest})
+		{
+			queue.offer(first);
+			queue.offer(second);
+		}
+		assertFalse(dropNewest.offer(third));
+		assertTrue(dropOldest.offer(third));
+		
+		assertEquals(Arrays.asList(first, second), drain(dropNewest));
+		assertEquals(Arrays.asList(second, third), drain(dropOldest));
+		assertEquals(1, dropNewest.getDroppedAmount());
+		assertEquals(1, dropOldest.getDroppedAmount());
+	}
+	
+	@Test
+	public void coalescingReplacesTheLatestEventWithTheSameKey()
+	{
+		EventQueue queue = new EventQueue(3, new FeatureSet(TestFeature.A, TestFeature.B));
+		Event a1 = new TestEvent(TestFeature.A, TestFeature.C);
+		Event b1 = new TestEvent(TestFeature.B);
+		Event a2 = new TestEvent(TestFeature.A);
+		Event a3 = new TestEvent(TestFeature.A, TestFeature.D);
+		Event c = new TestEvent(TestFeature.C);
+		
+		queue.offer(a1);
+		queue.offer(b1);
+		queue.offer(a2);
+		// The queue is full, so the latest event with only A replaces a2
+		assertTrue(queue.offer(a3));
+		assertEquals(1, queue.getCoalescedAmount());
+		// No queued event has an empty key, so the oldest event is dropped
+		assertTrue(queue.offer(c));
+		assertEquals(1, queue.getDroppedAmount());
+		
+		assertEquals(Arrays.asList(b1, a3, c), drain(queue));
+	}
+	
+	@Test(timeout = 5000)
+	public void blockingQueueWaitsForRoom() throws InterruptedException
+	{
+		final EventQueue queue = new EventQueue(1, OverflowPolicy.BLOCK);
+		queue.offer(new TestEvent(TestFeature.A));
+		
+		final Event blocked = new TestEvent(TestFeature.B);
+		Thread producer = new Thread()
+		{
+			@Override
+			public void run()
+			{
+				queue.offer(blocked);
+			}
+		};
+		producer.start();
+		
+		// The producer can't finish until the queue has been drained
+		producer.join(100);
+		assertTrue(producer.isAlive());
+		assertEquals(1, drain(queue).size());
+		producer.join();
+		
+		assertEquals(Arrays.asList(blocked), drain(queue));
+		assertEquals(0, queue.getDroppedAmount());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void coalescingRequiresKeyFeatures()
+	{
+		new EventQueue(1, OverflowPolicy.COALESCE);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void capacityMustBePositive()
+	{
+		new EventQueue(0);
+	}
+	
+	private static List<Event> drain(EventQueue queue)
+	{
+		List<Event> events = new ArrayList<>();
+		queue.drainTo(events, Integer.MAX_VALUE);
+		return events;
+	}
+}
@@ -0,0 +1,99 @@
+package utopia.inception.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import utopia.inception.event.Event.Feature;
+
+public class EventSelectorIndexTest
+{
+	@Test
+	public void indexSelectsTheSameTargetsAsTheSelectors()
+	{
+		Random random = new Random(7);
+		EventSelectorIndex<Integer> index = new EventSelectorIndex<>();
+		List<EventSelector> selectors = new ArrayList<>();
+		for (int i = 0; i < 200; i++)
+		{
+			EventSelector selector = i % 5 == 0 ? createMultiSelector(random) : 
+					createStrictSelector(random);
+			selectors.add(selector);
+			index.add(selector, i);
+		}
+		
+		for (int i = 0; i < 500; i++)
+		{
+			Event event = createEvent(random);
+			HashSet<Integer> expected = new HashSet<>();
+			for (int target = 0; target < selectors.size(); target++)
+			{
+				if (selectors.get(target).selects(event))
+					expected.add(target);
+			}
+			
+			List<Integer> selected = index.getSelected(event);
+			assertEquals(expected.size(), selected.size());
+			assertEquals(expected, new HashSet<>(selected));
+		}
+	}
+	
+	@Test
+	public void removedTargetsAreNoLongerSelected()
+	{
+		EventSelectorIndex<String> index = new EventSelectorIndex<>();
+		StrictEventSelector selector = new StrictEventSelector();
+		selector.addRequiredFeature(TestFeature.A);
+		index.add(selector, "a");
+		index.add(StrictEventSelector.createAllAcceptingSelector(), "all");
+		
+		assertEquals(2, index.getSelected(new TestEvent(TestFeature.A)).size());
+		index.remove("a");
+		assertFalse(index.contains("a"));
+		assertTrue(index.contains("all"));
+		assertEquals(1, index.size());
+		assertEquals(1, index.getSelected(new TestEvent(TestFeature.A)).size());
+	}
+	
+	private static StrictEventSelector createStrictSelector(Random random)
+	{
+		StrictEventSelector selector = new StrictEventSelector();
+		for (TestFeature feature : TestFeature.values())
+		{
+			int roll = random.nextInt(4);
+			if (roll == 0)
+				selector.addRequiredFeature(feature);
+			else if (roll == 1)
+				selector.addUnacceptableFeature(feature);
+		}
+		return selector;
+	}
+	
+	private static MultiEventSelector createMultiSelector(Random random)
+	{
+		MultiEventSelector selector = new MultiEventSelector();
+		for (int i = 0; i < 3; i++)
+		{
+			selector.addOption(createStrictSelector(random));
+		}
+		return selector;
+	}
+	
+	private static Event createEvent(Random random)
+	{
+		List<Feature> features = new ArrayList<>();
+		for (TestFeature feature : TestFeature.values())
+		{
+			if (random.nextBoolean())
+				features.add(feature);
+		}
+		return new TestEvent(features.toArray(new Feature[features.size()]));
+	}
+}
@@ -0,0 +1,95 @@
+package utopia.inception.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.Test;
+
+import utopia.inception.event.Event.Feature;
+
+public class FeatureSetTest
+{
+	@Test
+	public void featuresReceiveStableIds()
+	{
+		int id = FeatureRegistry.getId(TestFeature.A);
+		assertEquals(id, FeatureRegistry.getId(TestFeature.A));
+		assertSame(TestFeature.A, FeatureRegistry.getFeature(id));
+		assertTrue(FeatureRegistry.getFeatureAmount() > id);
+	}
+	
+	@Test
+	public void unusedFeaturesAreCollected()
+	{
+		Feature collected = new Feature() { /* A feature that is only used here */ };
+		WeakReference<Feature> probe = new WeakReference<>(collected);
+		int id = FeatureRegistry.getId(collected);
+		collected = null;
+		
+		for (int i = 0; i < 10 && probe.get() != null; i++)
+		{
+			System.gc();
+		}
+		// The test can't be made if the garbage collector didn't cooperate
+		if (probe.get() != null)
+			return;
+		
+		// The id of the collected feature is not given to new features
+		assertNull(FeatureRegistry.getFeature(id));
+		assertTrue(FeatureRegistry.getId(new Feature() { /* Another feature */ }) > id);
+	}
+	
+	@Test
+	public void setOperationsMatchTheFeatures()
+	{
+		FeatureSet ab = new FeatureSet(TestFeature.A, TestFeature.B);
+		FeatureSet bc = new FeatureSet(TestFeature.B, TestFeature.C);
+		FeatureSet abc = new FeatureSet(TestFeature.A, TestFeature.B, TestFeature.C);
+		
+		assertEquals(2, ab.size());
+		assertTrue(ab.contains(TestFeature.A));
+		assertFalse(ab.contains(TestFeature.C));
+		assertTrue(abc.containsAll(ab));
+		assertFalse(ab.containsAll(abc));
+		assertTrue(ab.intersects(bc));
+		assertFalse(ab.intersects(new FeatureSet(TestFeature.D)));
+		assertEquals(new FeatureSet(TestFeature.B), ab.intersection(bc));
+		assertTrue(FeatureSet.EMPTY.isEmpty());
+		assertTrue(ab.containsAll(FeatureSet.EMPTY));
+	}
+	
+	@Test
+	public void equalSetsAreEqualRegardlessOfOrder()
+	{
+		FeatureSet first = new FeatureSet(TestFeature.A, TestFeature.E);
+		FeatureSet second = new FeatureSet(TestFeature.E, TestFeature.A, TestFeature.A);
+		
+		assertEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+	}
+	
+	@Test
+	public void idsCanBeIterated()
+	{
+		FeatureSet set = new FeatureSet(TestFeature.C, TestFeature.A);
+		int amount = 0;
+		for (int id = set.nextId(0); id >= 0; id = set.nextId(id + 1))
+		{
+			assertTrue(set.contains(FeatureRegistry.getFeature(id)));
+			amount ++;
+		}
+		assertEquals(2, amount);
+	}
+	
+	@Test
+	public void setIsCreatedFromAnyEvent()
+	{
+		assertEquals(new FeatureSet(TestFeature.B, TestFeature.D), 
+				FeatureSet.of(new TestEvent(TestFeature.D, TestFeature.B)));
+	}
+}
@@ -0,0 +1,91 @@
+package utopia.inception.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class PrioritizedEventQueueTest
+{
+	@Test
+	public void lanesAreDrainedByWeight()
+	{
+		PrioritizedEventQueue queue = new PrioritizedEventQueue(new EventQueue(16), 1);
+		queue.addLane(createSelector(TestFeature.A), 16, 3);
+		for (int i = 0; i < 8; i++)
+		{
+			queue.offer(new TestEvent(TestFeature.A));
+			queue.offer(new TestEvent(TestFeature.B));
+		}
+		assertEquals(2, queue.getLaneAmount());
+		assertEquals(16, queue.size());
+		
+		List<Event> events = new ArrayList<>();
+		queue.drainTo(events, 8);
+		assertEquals("AAABAAAB", describe(events));
+		
+		// The remaining lane events are delivered once the heavier lane is empty
+		events.clear();
+		queue.drainTo(events, 100);
+		assertEquals("AABBBBBB", describe(events));
+		assertEquals(0, queue.size());
+	}
+	
+	@Test
+	public void turnContinuesBetweenDrains()
+	{
+		PrioritizedEventQueue queue = new PrioritizedEventQueue(new EventQueue(16), 1);
+		queue.addLane(createSelector(TestFeature.A), 16, 2);
+		for (int i = 0; i < 4; i++)
+		{
+			queue.offer(new TestEvent(TestFeature.A));
+			queue.offer(new TestEvent(TestFeature.B));
+		}
+		
+		StringBuilder order = new StringBuilder();
+		List<Event> events = new ArrayList<>();
+		while (queue.drainTo(events, 1) > 0)
+		{
+			order.append(describe(events));
+			events.clear();
+		}
+		assertEquals("AABAABBB", order.toString());
+	}
+	
+	@Test
+	public void eventsGoToTheFirstSelectingLane()
+	{
+		EventQueue aLane = new EventQueue(4);
+		EventQueue abLane = new EventQueue(4);
+		EventQueue defaultLane = new EventQueue(4);
+		PrioritizedEventQueue queue = new PrioritizedEventQueue(defaultLane, 1);
+		queue.addLane(createSelector(TestFeature.A), aLane, 1);
+		queue.addLane(StrictEventSelector.createAllAcceptingSelector(), abLane, 1);
+		
+		assertTrue(queue.offer(new TestEvent(TestFeature.A, TestFeature.B)));
+		assertTrue(queue.offer(new TestEvent(TestFeature.B)));
+		assertEquals(1, aLane.size());
+		assertEquals(1, abLane.size());
+		assertEquals(0, defaultLane.size());
+	}
+	
+	private static StrictEventSelector createSelector(TestFeature requiredFeature)
+	{
+		StrictEventSelector selector = new StrictEventSelector();
+		selector.addRequiredFeature(requiredFeature);
+		return selector;
+	}
+	
+	private static String describe(List<Event> events)
+	{
+		StringBuilder s = new StringBuilder();
+		for (Event event : events)
+		{
+			s.append(event.getFeatures().get(0));
+		}
+		return s.toString();
+	}
+}
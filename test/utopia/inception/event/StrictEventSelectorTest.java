@@ -0,0 +1,157 @@
+package utopia.inception.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import utopia.inception.event.StrictEventSelector.FeatureTestStatistics;
+
+public class StrictEventSelectorTest
+{
+	@Test
+	public void requiredAndUnacceptableFeaturesAreTested()
+	{
+		StrictEventSelector selector = new StrictEventSelector();
+		selector.addRequiredFeature(TestFeature.A);
+		selector.addUnacceptableFeature(TestFeature.B);
+		
+		assertTrue(selector.selects(new TestEvent(TestFeature.A)));
+		assertTrue(selector.selects(new TestEvent(TestFeature.A, TestFeature.C)));
+		assertFalse(selector.selects(new TestEvent(TestFeature.A, TestFeature.B)));
+		assertFalse(selector.selects(new TestEvent(TestFeature.C)));
+	}
+	
+	@Test
+	public void onlySampledEvaluationsAreCounted()
+	{
+		StrictEventSelector selector = new StrictEventSelector();
+		selector.addRequiredFeature(TestFeature.A);
+		
+		for (int i = 0; i < StrictEventSelector.SAMPLING_INTERVAL * 3; i++)
+		{
+			assertTrue(selector.selects(new TestEvent(TestFeature.A)));
+		}
+		assertEquals(3, selector.getEvaluationAmount());
+		assertEquals(3, selector.getTestAmount());
+	}
+	
+	@Test
+	public void mostRejectingTestIsMovedFirst()
+	{
+		StrictEventSelector selector = new StrictEventSelector();
+		selector.addRequiredFeature(TestFeature.A);
+		selector.addRequiredFeature(TestFeature.B);
+		
+		// Only the test for B rejects events
+		select(selector, new TestEvent(TestFeature.A), StrictEventSelector.REORDERING_INTERVAL);
+		
+		List<FeatureTestStatistics> statistics = selector.getStatistics();
+		assertEquals(TestFeature.B, statistics.get(0).getFeature());
+		assertEquals(StrictEventSelector.REORDERING_INTERVAL, 
+				statistics.get(0).getRejectionAmount());
+		assertEquals(StrictEventSelector.REORDERING_INTERVAL, selector.getEvaluationAmount());
+		
+		// After reordering, the events are rejected by the first test
+		select(selector, new TestEvent(TestFeature.A), 1);
+		assertEquals(StrictEventSelector.REORDERING_INTERVAL * 2 + 1, selector.getTestAmount());
+	}
+	
+	@Test
+	public void addingFeatureResetsStatistics()
+	{
+		StrictEventSelector selector = new StrictEventSelector();
+		selector.addRequiredFeature(TestFeature.A);
+		select(selector, new TestEvent(TestFeature.A), 1);
+		assertEquals(1, selector.getEvaluationAmount());
+		selector.addRequiredFeature(TestFeature.B);
+		
+		assertEquals(0, selector.getEvaluationAmount());
+		assertEquals(0, selector.getTestAmount());
+		select(selector, new TestEvent(TestFeature.A, TestFeature.B), 1);
+		assertEquals(1, selector.getEvaluationAmount());
+		assertTrue(selector.selects(new TestEvent(TestFeature.A, TestFeature.B)));
+	}
+	
+	@Test
+	public void addedFeaturesAreSeenByOtherThreads() throws InterruptedException
+	{
+		final StrictEventSelector selector = new StrictEventSelector();
+		Thread adder = new Thread()
+		{
+			@Override
+			public void run()
+			{
+				selector.addRequiredFeature(TestFeature.A);
+				selector.addUnacceptableFeature(TestFeature.B);
+			}
+		};
+		adder.start();
+		adder.join();
+		
+		assertEquals(new FeatureSet(TestFeature.A), selector.getRequiredFeatureSet());
+		assertEquals(new FeatureSet(TestFeature.B), selector.getUnacceptableFeatureSet());
+		assertFalse(selector.selects(new TestEvent(TestFeature.A, TestFeature.B)));
+		assertEquals(2, selector.getStatistics().size());
+	}
+	
+	@Test
+	public void concurrentSelectionKeepsStatisticsConsistent() throws InterruptedException
+	{
+		final StrictEventSelector selector = new StrictEventSelector();
+		selector.addRequiredFeature(TestFeature.A);
+		selector.addRequiredFeature(TestFeature.B);
+		selector.addUnacceptableFeature(TestFeature.C);
+		
+		final AtomicBoolean failed = new AtomicBoolean(false);
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++)
+		{
+			threads[i] = new Thread(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					for (int j = 0; j < 20000; j++)
+					{
+						// Each event is rejected by exactly one test
+						boolean selected = selector.selects(
+								new TestEvent(TestFeature.A, TestFeature.C));
+						if (selected)
+							failed.set(true);
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+		
+		assertFalse(failed.get());
+		
+		long rejectionAmount = 0;
+		List<FeatureTestStatistics> statistics = selector.getStatistics();
+		for (FeatureTestStatistics test : statistics)
+		{
+			rejectionAmount += test.getRejectionAmount();
+		}
+		assertEquals(selector.getEvaluationAmount(), rejectionAmount);
+		assertTrue(selector.getEvaluationAmount() >= StrictEventSelector.REORDERING_INTERVAL);
+		assertEquals(3, statistics.size());
+	}
+	
+	// Makes enough evaluations for the given amount of them to be sampled
+	private static void select(StrictEventSelector selector, Event event, int sampledAmount)
+	{
+		for (int i = 0; i < sampledAmount * StrictEventSelector.SAMPLING_INTERVAL; i++)
+		{
+			selector.selects(event);
+		}
+	}
+}
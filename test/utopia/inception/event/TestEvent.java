@@ -0,0 +1,31 @@
+package utopia.inception.event;
+
+import java.util.Arrays;
+import java.util.List;
+
+import utopia.inception.event.Event.Feature;
+
+/**
+ * A plain event used in the event tests
+ */
+class TestEvent implements Event
+{
+	private final List<Feature> features;
+	
+	public TestEvent(Feature... features)
+	{
+		this.features = Arrays.asList(features);
+	}
+	
+	@Override
+	public List<Feature> getFeatures()
+	{
+		return this.features;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "TestEvent" + this.features;
+	}
+}
@@ -0,0 +1,11 @@
+package utopia.inception.event;
+
+import utopia.inception.event.Event.Feature;
+
+/**
+ * Features used in the event tests
+ */
+enum TestFeature implements Feature
+{
+	A, B, C, D, E;
+}
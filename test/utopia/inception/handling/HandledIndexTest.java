@@ -0,0 +1,235 @@
+package utopia.inception.handling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import utopia.inception.util.SimpleHandled;
+
+public class HandledIndexTest
+{
+	@Test
+	public void hashIndexProvidesTheHandledsWithTheKey()
+	{
+		PointHandler handler = new PointHandler();
+		KeyIndex index = new KeyIndex();
+		handler.addIndex(index);
+		Point a1 = new Point("a", 0, 0), b = new Point("b", 0, 0), a2 = new Point("a", 1, 1);
+		handler.add(a1, b, a2);
+		
+		assertEquals(Arrays.asList(a1, a2), handler.handle(index.withKey("a")));
+		assertEquals(2, index.getKeyAmount());
+	}
+	
+	@Test
+	public void rangeIndexProvidesTheValuesInOrder()
+	{
+		PointHandler handler = new PointHandler();
+		XIndex index = new XIndex();
+		handler.addIndex(index);
+		Point p3 = new Point("3", 3, 0), p0 = new Point("0", 0, 0), p2 = new Point("2", 2, 0), 
+				p5 = new Point("5", 5, 0), p1 = new Point("1", 1, 0);
+		handler.add(p3, p0, p2, p5, p1);
+		
+		assertEquals(Arrays.asList(p1, p2, p3), handler.handle(index.between(1, 3)));
+		assertTrue(handler.handle(index.between(3, 1)).isEmpty());
+	}
+	
+	@Test
+	public void gridIndexProvidesTheHandledsWithinArea()
+	{
+		PointHandler handler = new PointHandler();
+		GridIndex index = new GridIndex();
+		handler.addIndex(index);
+		Point a = new Point("a", 5, 5), b = new Point("b", 15, 5), c = new Point("c", 100, 100), 
+				d = new Point("d", 15, 25);
+		handler.add(a, b, c, d);
+		
+		assertEquals(new HashSet<>(Arrays.asList(a, b)), 
+				new HashSet<>(handler.handle(index.within(0, 0, 20, 10))));
+		assertEquals(Arrays.asList(c), handler.handle(index.within(50, 50, 1000, 1000)));
+		assertEquals(4, index.getOccupiedCellAmount());
+	}
+	
+	@Test
+	public void gridQueryAtTheBorderCellsEnds()
+	{
+		PointHandler handler = new PointHandler();
+		GridIndex index = new GridIndex();
+		handler.addIndex(index);
+		Point far = new Point("far", Double.MAX_VALUE, Double.MAX_VALUE);
+		Point farNegative = new Point("farNegative", -Double.MAX_VALUE, -Double.MAX_VALUE);
+		handler.add(far, farNegative, new Point("a", 0, 0), new Point("b", 5, 5));
+		
+		assertEquals(Arrays.asList(far), handler.handle(index.within(1e300, 1e300, 
+				Double.MAX_VALUE, Double.MAX_VALUE)));
+		assertEquals(Arrays.asList(farNegative), handler.handle(index.within(
+				-Double.MAX_VALUE, -Double.MAX_VALUE, -1e300, -1e300)));
+	}
+	
+	@Test
+	public void updatedHandledIsReindexed()
+	{
+		PointHandler handler = new PointHandler();
+		GridIndex index = new GridIndex();
+		handler.addIndex(index);
+		Point moving = new Point("moving", 5, 5);
+		handler.add(moving, new Point("still", 100, 100));
+		handler.handle(index.within(0, 0, 10, 10));
+		
+		moving.x = 200;
+		moving.y = 200;
+		handler.updateIndexes(moving);
+		
+		assertTrue(handler.handle(index.within(0, 0, 10, 10)).isEmpty());
+		assertEquals(Arrays.asList(moving), handler.handle(index.within(150, 150, 250, 250)));
+	}
+	
+	@Test
+	public void removedHandledIsNoLongerProvided()
+	{
+		PointHandler handler = new PointHandler();
+		KeyIndex index = new KeyIndex();
+		handler.addIndex(index);
+		Point a = new Point("a", 0, 0);
+		handler.add(a, new Point("b", 0, 0));
+		handler.handle(index.withKey("a"));
+		
+		handler.removeHandled(a);
+		assertTrue(handler.handle(index.withKey("a")).isEmpty());
+		assertEquals(1, index.getKeyAmount());
+	}
+	
+	@Test
+	public void dyingHandlerClearsItsIndexes()
+	{
+		PointHandler handler = new PointHandler();
+		KeyIndex keyIndex = new KeyIndex();
+		GridIndex gridIndex = new GridIndex();
+		handler.addIndex(keyIndex);
+		handler.addIndex(gridIndex);
+		handler.add(new Point("a", 0, 0), new Point("b", 50, 50));
+		handler.handle(keyIndex.withKey("a"));
+		
+		handler.getIsDeadStateOperator().setState(true);
+		assertEquals(0, keyIndex.getKeyAmount());
+		assertEquals(0, gridIndex.getOccupiedCellAmount());
+	}
+	
+	@Test
+	public void otherFiltersCheckAllTheHandleds()
+	{
+		PointHandler handler = new PointHandler();
+		handler.addIndex(new KeyIndex());
+		Point a = new Point("a", 0, 0), b = new Point("b", 3, 0);
+		handler.add(a, b);
+		
+		assertEquals(Arrays.asList(b), handler.handle(new HandledFilter<Point>()
+		{
+			@Override
+			public boolean accepts(Point h)
+			{
+				return h.x > 1;
+			}
+		}));
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class Point extends SimpleHandled
+	{
+		private final String key;
+		private double x, y;
+		
+		public Point(String key, double x, double y)
+		{
+			this.key = key;
+			this.x = x;
+			this.y = y;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return this.key;
+		}
+	}
+	
+	private static class PointHandler extends Handler<Point>
+	{
+		private final List<Point> handled = new ArrayList<>();
+		
+		@Override
+		public HandlerType getHandlerType()
+		{
+			return TestHandlerType.TEST;
+		}
+		
+		@Override
+		protected boolean handleObject(Point h)
+		{
+			this.handled.add(h);
+			return true;
+		}
+		
+		public void add(Point... points)
+		{
+			for (Point point : points)
+			{
+				add(point);
+			}
+		}
+		
+		public List<Point> handle(HandledFilter<? super Point> filter)
+		{
+			this.handled.clear();
+			handleObjects(filter, null, true);
+			return new ArrayList<>(this.handled);
+		}
+	}
+	
+	private static class KeyIndex extends HashHandledIndex<String, Point>
+	{
+		@Override
+		protected String getKey(Point h)
+		{
+			return h.key;
+		}
+	}
+	
+	private static class XIndex extends RangeHandledIndex<Point>
+	{
+		@Override
+		protected double getValue(Point h)
+		{
+			return h.x;
+		}
+	}
+	
+	private static class GridIndex extends GridHandledIndex<Point>
+	{
+		public GridIndex()
+		{
+			super(10);
+		}
+		
+		@Override
+		protected double getX(Point h)
+		{
+			return h.x;
+		}
+		
+		@Override
+		protected double getY(Point h)
+		{
+			return h.y;
+		}
+	}
+}
@@ -0,0 +1,205 @@
+package utopia.inception.handling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class HandlerSchedulerTest
+{
+	@Test
+	public void submittedHandlersAreHandled() throws InterruptedException
+	{
+		HandlerScheduler scheduler = new HandlerScheduler(3);
+		try
+		{
+			CountingHandler[] handlers = new CountingHandler[10];
+			for (int i = 0; i < handlers.length; i++)
+			{
+				handlers[i] = new CountingHandler();
+				scheduler.submit(handlers[i]);
+			}
+			scheduler.awaitIdle();
+			
+			for (CountingHandler handler : handlers)
+			{
+				assertEquals(1, handler.handlingAmount.get());
+			}
+		}
+		finally { scheduler.shutdown(); }
+	}
+	
+	@Test
+	public void handlerIsNeverHandledConcurrently() throws InterruptedException
+	{
+		final HandlerScheduler scheduler = new HandlerScheduler(4);
+		try
+		{
+			final CountingHandler handler = new CountingHandler();
+			handler.handlingTime = 1;
+			
+			Thread[] threads = new Thread[4];
+			for (int i = 0; i < threads.length; i++)
+			{
+				threads[i] = new Thread(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						for (int j = 0; j < 200; j++)
+						{
+							scheduler.submit(handler);
+						}
+					}
+				});
+				threads[i].start();
+			}
+			for (Thread thread : threads)
+			{
+				thread.join();
+			}
+			scheduler.awaitIdle();
+			
+			assertEquals(1, handler.maxConcurrency.get());
+			assertTrue(handler.handlingAmount.get() > 0);
+		}
+		finally { scheduler.shutdown(); }
+	}
+	
+	@Test
+	public void removingBusyHandlerDoesNotDuplicateIt() throws InterruptedException
+	{
+		HandlerScheduler scheduler = new HandlerScheduler(2);
+		try
+		{
+			CountingHandler handler = new CountingHandler();
+			handler.block = new CountDownLatch(1);
+			scheduler.submit(handler);
+			assertTrue(handler.started.await(2, TimeUnit.SECONDS));
+			
+			// The handler is submitted again while it is still being handled
+			scheduler.remove(handler);
+			scheduler.submit(handler);
+			Thread.sleep(50);
+			handler.block.countDown();
+			scheduler.awaitIdle();
+			
+			assertEquals(1, handler.maxConcurrency.get());
+			assertEquals(2, handler.handlingAmount.get());
+			
+			// The handler can still be submitted after it has been forgotten
+			scheduler.remove(handler);
+			scheduler.submit(handler);
+			scheduler.awaitIdle();
+			assertEquals(3, handler.handlingAmount.get());
+		}
+		finally { scheduler.shutdown(); }
+	}
+	
+	@Test
+	public void errorDuringHandlingDoesNotBlockWaiting() throws InterruptedException
+	{
+		final HandlerScheduler scheduler = new HandlerScheduler(2);
+		try
+		{
+			CountingHandler handler = new CountingHandler();
+			handler.error = new Error("Expected test error");
+			scheduler.submit(handler);
+			
+			Thread waiter = new Thread(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					try
+					{
+						scheduler.awaitIdle();
+					}
+					catch (InterruptedException e)
+					{
+						// Ends the thread
+					}
+				}
+			});
+			waiter.start();
+			waiter.join(2000);
+			assertFalse(waiter.isAlive());
+			
+			// The handler can be handled again
+			handler.error = null;
+			scheduler.submit(handler);
+			scheduler.awaitIdle();
+			assertEquals(2, handler.handlingAmount.get());
+		}
+		finally { scheduler.shutdown(); }
+	}
+	
+	@Test
+	public void waitingHandlersAreNotHandledAfterShutdown() throws InterruptedException
+	{
+		HandlerScheduler scheduler = new HandlerScheduler(1);
+		CountingHandler running = new CountingHandler();
+		running.block = new CountDownLatch(1);
+		CountingHandler waiting = new CountingHandler();
+		
+		scheduler.submit(running);
+		assertTrue(running.started.await(2, TimeUnit.SECONDS));
+		scheduler.submit(waiting);
+		scheduler.shutdown();
+		running.block.countDown();
+		
+		Thread.sleep(100);
+		assertEquals(1, running.handlingAmount.get());
+		assertEquals(0, waiting.handlingAmount.get());
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class CountingHandler extends TestHandler
+	{
+		private final AtomicInteger handlingAmount = new AtomicInteger();
+		private final AtomicInteger concurrency = new AtomicInteger();
+		private final AtomicInteger maxConcurrency = new AtomicInteger();
+		private final CountDownLatch started = new CountDownLatch(1);
+		private volatile CountDownLatch block;
+		private volatile Error error;
+		private volatile long handlingTime;
+		
+		public CountingHandler()
+		{
+			super(false);
+		}
+		
+		@Override
+		protected void handleObjects(boolean checkHandlingState)
+		{
+			int current = this.concurrency.incrementAndGet();
+			if (current > this.maxConcurrency.get())
+				this.maxConcurrency.set(current);
+			this.handlingAmount.incrementAndGet();
+			this.started.countDown();
+			
+			try
+			{
+				if (this.block != null)
+					this.block.await();
+				if (this.handlingTime > 0)
+					Thread.sleep(this.handlingTime);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			finally { this.concurrency.decrementAndGet(); }
+			
+			if (this.error != null)
+				throw this.error;
+		}
+	}
+}
@@ -0,0 +1,314 @@
+package utopia.inception.handling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+
+import utopia.inception.util.SimpleHandled;
+
+public class HandlerTest
+{
+	@Test
+	public void threadConfinedHandlerHandlesWithoutLocks()
+	{
+		TestHandler handler = new TestHandler(true);
+		for (int i = 0; i < 10; i++)
+		{
+			handler.add(new SimpleHandled());
+		}
+		
+		handler.handleObjects(true);
+		assertEquals(10, handler.handled.size());
+		assertEquals(10, handler.getHandledNumber());
+	}
+	
+	@Test
+	public void threadConfinedHandlerRejectsOtherThreads() throws InterruptedException
+	{
+		final TestHandler handler = new TestHandler(true);
+		handler.add(new SimpleHandled());
+		handler.handleObjects(true);
+		
+		final List<Throwable> errors = new ArrayList<>();
+		Thread other = new Thread()
+		{
+			@Override
+			public void run()
+			{
+				try
+				{
+					handler.handleObjects(true);
+				}
+				catch (AssertionError e)
+				{
+					errors.add(e);
+				}
+			}
+		};
+		other.start();
+		other.join();
+		
+		// The check is only made when assertions are enabled
+		boolean assertionsEnabled = false;
+		assert assertionsEnabled = true;
+		if (assertionsEnabled)
+			assertEquals(1, errors.size());
+	}
+	
+	@Test
+	public void firstAccessingThreadBecomesOwner()
+	{
+		TestHandler handler = new TestHandler(true);
+		assertNull(handler.getOwnerThread());
+		
+		handler.add(new SimpleHandled());
+		assertEquals(Thread.currentThread(), handler.getOwnerThread());
+		
+		assertNull(new TestHandler(false).getOwnerThread());
+	}
+	
+	@Test
+	public void addingCancelsPendingRemoval()
+	{
+		TestHandler handler = new TestHandler(false);
+		Handled h = new SimpleHandled();
+		handler.add(h);
+		handler.handleObjects(true);
+		
+		// The latest call decides whether the handled stays
+		handler.removeHandled(h);
+		handler.add(h);
+		assertEquals(Arrays.asList(h), handle(handler));
+		assertEquals(1, handler.getHandledNumber());
+		
+		handler.add(h);
+		handler.removeHandled(h);
+		assertEquals(0, handle(handler).size());
+		assertEquals(0, handler.getHandledNumber());
+	}
+	
+	@Test
+	public void groupedHandledsAreHandledByClass()
+	{
+		TestHandler handler = new TestHandler(false);
+		handler.setGroupedByClass(true);
+		Handled a1 = new HandledA(), b1 = new HandledB(), a2 = new HandledA(), 
+				c1 = new HandledC(), b2 = new HandledB();
+		add(handler, a1, b1, a2, c1, b2);
+		
+		assertEquals(Arrays.asList(a1, a2, b1, b2, c1), handle(handler));
+		
+		// Later handleds are placed at the end of their groups
+		Handled a3 = new HandledA(), c2 = new HandledC();
+		add(handler, c2, a3);
+		assertEquals(Arrays.asList(a1, a2, a3, b1, b2, c1, c2), handle(handler));
+	}
+	
+	@Test
+	public void emptiedGroupIsForgotten()
+	{
+		TestHandler handler = new TestHandler(false);
+		handler.setGroupedByClass(true);
+		Handled a = new HandledA(), b1 = new HandledB(), b2 = new HandledB(), 
+				c = new HandledC();
+		add(handler, a, b1, b2, c);
+		handle(handler);
+		
+		handler.removeHandled(b1);
+		handler.removeHandled(b2);
+		assertEquals(Arrays.asList(a, c), handle(handler));
+		
+		// The class gets a new group at the end
+		Handled b3 = new HandledB(), a2 = new HandledA();
+		add(handler, b3, a2);
+		assertEquals(Arrays.asList(a, a2, c, b3), handle(handler));
+	}
+	
+	@Test
+	public void groupingSortsExistingHandleds()
+	{
+		TestHandler handler = new TestHandler(false);
+		Handled b = new HandledB(), a1 = new HandledA(), c = new HandledC(), 
+				a2 = new HandledA();
+		add(handler, b, a1, c, a2);
+		assertEquals(Arrays.asList(b, a1, c, a2), handle(handler));
+		
+		handler.setGroupedByClass(true);
+		assertEquals(Arrays.asList(b, a1, a2, c), handle(handler));
+	}
+	
+	@Test
+	public void sortingKeepsTheGroups()
+	{
+		TestHandler handler = new TestHandler(false);
+		handler.setGroupedByClass(true);
+		Handled a1 = new HandledA(), b1 = new HandledB(), a2 = new HandledA(), 
+				b2 = new HandledB();
+		add(handler, a1, b1, a2, b2);
+		handle(handler);
+		
+		// The handleds are reversed within their groups
+		final List<Handled> order = Arrays.asList(a1, b1, a2, b2);
+		handler.sortHandleds(new Comparator<Handled>()
+		{
+			@Override
+			public int compare(Handled o1, Handled o2)
+			{
+				return Integer.compare(order.indexOf(o2), order.indexOf(o1));
+			}
+		});
+		assertEquals(Arrays.asList(a2, a1, b2, b1), handle(handler));
+	}
+	
+	@Test
+	public void handlingStopsWhenHandleObjectReturnsFalse()
+	{
+		StoppingHandler handler = new StoppingHandler(3);
+		add(handler, createHandleds(10));
+		
+		handler.handleObjects(true);
+		assertEquals(3, handler.handled.size());
+	}
+	
+	@Test
+	public void unreachedDeadHandledsAreSweptGradually()
+	{
+		StoppingHandler handler = new StoppingHandler(1);
+		Handled[] handleds = createHandleds(40);
+		add(handler, handleds);
+		handler.handleObjects(true);
+		
+		handleds[38].getIsDeadStateOperator().setState(true);
+		handleds[39].getIsDeadStateOperator().setState(true);
+		
+		// Each handling checks 16 more handleds
+		handler.handleObjects(true);
+		assertEquals(40, handler.getHandledNumber());
+		handler.handleObjects(true);
+		assertEquals(38, handler.getHandledNumber());
+	}
+	
+	@Test
+	public void sweepCanBeDisabled()
+	{
+		StoppingHandler handler = new StoppingHandler(1);
+		handler.setSweepBudget(0);
+		Handled[] handleds = createHandleds(10);
+		add(handler, handleds);
+		handler.handleObjects(true);
+		
+		handleds[9].getIsDeadStateOperator().setState(true);
+		for (int i = 0; i < 5; i++)
+		{
+			handler.handleObjects(true);
+		}
+		assertEquals(10, handler.getHandledNumber());
+		
+		assertEquals(1, handler.sweepDeadHandleds(10));
+		handler.handleObjects(true);
+		assertEquals(9, handler.getHandledNumber());
+	}
+	
+	@Test
+	public void sweepContinuesFromTheSameHandledAfterRemoval()
+	{
+		TestHandler handler = new TestHandler(false);
+		handler.setSweepBudget(0);
+		Handled[] handleds = createHandleds(20);
+		add(handler, handleds);
+		handler.handleObjects(true);
+		
+		assertEquals(0, handler.sweepDeadHandleds(5));
+		handler.removeHandled(handleds[0]);
+		handler.handleObjects(true);
+		
+		// The next handled to check is still the sixth one added
+		handleds[5].getIsDeadStateOperator().setState(true);
+		assertEquals(1, handler.sweepDeadHandleds(1));
+	}
+	
+	@Test
+	public void sweepStartsOverAfterGrouping()
+	{
+		TestHandler handler = new TestHandler(false);
+		handler.setSweepBudget(0);
+		Handled b = new HandledB(), a1 = new HandledA(), c = new HandledC(), 
+				a2 = new HandledA();
+		add(handler, b, a1, c, a2);
+		handle(handler);
+		assertEquals(0, handler.sweepDeadHandleds(2));
+		
+		// The grouping moves the handleds, so the sweep continues from the first one
+		handler.setGroupedByClass(true);
+		b.getIsDeadStateOperator().setState(true);
+		assertEquals(1, handler.sweepDeadHandleds(1));
+	}
+	
+	private static Handled[] createHandleds(int amount)
+	{
+		Handled[] handleds = new Handled[amount];
+		for (int i = 0; i < amount; i++)
+		{
+			handleds[i] = new SimpleHandled();
+		}
+		return handleds;
+	}
+	
+	private static void add(TestHandler handler, Handled... handleds)
+	{
+		for (Handled h : handleds)
+		{
+			handler.add(h);
+		}
+	}
+	
+	private static List<Handled> handle(TestHandler handler)
+	{
+		handler.handled.clear();
+		handler.handleObjects(true);
+		return new ArrayList<>(handler.handled);
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class StoppingHandler extends TestHandler
+	{
+		private final int limit;
+		
+		public StoppingHandler(int limit)
+		{
+			super(false);
+			this.limit = limit;
+		}
+		
+		// The handling stops once enough handleds have been handled
+		@Override
+		protected boolean handleObject(Handled h)
+		{
+			super.handleObject(h);
+			return this.handled.size() % this.limit != 0;
+		}
+	}
+	
+	private static class HandledA extends SimpleHandled
+	{
+		// The class is used for grouping
+	}
+	
+	private static class HandledB extends SimpleHandled
+	{
+		// The class is used for grouping
+	}
+	
+	private static class HandledC extends SimpleHandled
+	{
+		// The class is used for grouping
+	}
+}
@@ -0,0 +1,159 @@
+package utopia.inception.handling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import utopia.inception.util.SimpleHandled;
+
+public class KeyedHandlerTest
+{
+	@Test
+	public void handledIsFoundAfterStatusUpdate()
+	{
+		TestKeyedHandler handler = new TestKeyedHandler();
+		NamedHandled a = new NamedHandled("a");
+		handler.add(a);
+		assertNull(handler.get("a"));
+		
+		handler.updateStatus();
+		assertSame(a, handler.get("a"));
+		assertTrue(handler.containsKey("a"));
+		assertFalse(handler.containsKey("b"));
+		assertEquals(1, handler.getIndexedAmount());
+	}
+	
+	@Test
+	public void onlyTheRequestedHandledIsHandled()
+	{
+		TestKeyedHandler handler = new TestKeyedHandler();
+		NamedHandled a = new NamedHandled("a");
+		handler.add(a);
+		handler.add(new NamedHandled("b"));
+		handler.updateStatus();
+		
+		assertTrue(handler.handle("a"));
+		assertFalse(handler.handle("c"));
+		assertEquals(1, handler.handled.size());
+		assertSame(a, handler.handled.get(0));
+	}
+	
+	@Test
+	public void removedAndDeadHandledsAreNotFound()
+	{
+		TestKeyedHandler handler = new TestKeyedHandler();
+		NamedHandled removed = new NamedHandled("removed");
+		NamedHandled dead = new NamedHandled("dead");
+		handler.add(removed);
+		handler.add(dead);
+		handler.updateStatus();
+		
+		handler.removeHandled(removed);
+		handler.updateStatus();
+		assertNull(handler.get("removed"));
+		
+		dead.getIsDeadStateOperator().setState(true);
+		assertNull(handler.get("dead"));
+		assertFalse(handler.handle("dead"));
+	}
+	
+	@Test
+	public void latestHandledWithTheSameKeyIsFound()
+	{
+		TestKeyedHandler handler = new TestKeyedHandler();
+		NamedHandled first = new NamedHandled("a");
+		NamedHandled second = new NamedHandled("a");
+		handler.add(first);
+		handler.add(second);
+		handler.updateStatus();
+		assertSame(second, handler.get("a"));
+		
+		// Removing the replaced handled doesn't remove the latest one
+		handler.removeHandled(first);
+		handler.updateStatus();
+		assertSame(second, handler.get("a"));
+	}
+	
+	@Test
+	public void keyFilterHandlesAllTheHandledsWithTheKey()
+	{
+		TestKeyedHandler handler = new TestKeyedHandler();
+		NamedHandled first = new NamedHandled("a");
+		NamedHandled second = new NamedHandled("a");
+		handler.add(first);
+		handler.add(new NamedHandled("b"));
+		handler.add(second);
+		handler.add(new NamedHandled(null));
+		handler.updateStatus();
+		
+		// The handleds without a key are not counted as indexed
+		assertEquals(2, handler.getIndexedAmount());
+		assertNull(handler.get(null));
+		
+		handler.handleWithKey("a");
+		assertEquals(2, handler.handled.size());
+		assertSame(first, handler.handled.get(0));
+		assertSame(second, handler.handled.get(1));
+	}
+	
+	@Test
+	public void dyingHandlerClearsTheIndex()
+	{
+		TestKeyedHandler handler = new TestKeyedHandler();
+		handler.add(new NamedHandled("a"));
+		handler.updateStatus();
+		
+		handler.getIsDeadStateOperator().setState(true);
+		assertEquals(0, handler.getIndexedAmount());
+		assertNull(handler.get("a"));
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class NamedHandled extends SimpleHandled
+	{
+		private final String name;
+		
+		public NamedHandled(String name)
+		{
+			this.name = name;
+		}
+	}
+	
+	private static class TestKeyedHandler extends KeyedHandler<String, NamedHandled>
+	{
+		private final List<NamedHandled> handled = new ArrayList<>();
+		
+		@Override
+		public HandlerType getHandlerType()
+		{
+			return TestHandlerType.TEST;
+		}
+		
+		@Override
+		protected String getKey(NamedHandled h)
+		{
+			return h.name;
+		}
+		
+		@Override
+		protected boolean handleObject(NamedHandled h)
+		{
+			this.handled.add(h);
+			return true;
+		}
+		
+		public void handleWithKey(String key)
+		{
+			handleObjects(withKey(key), null, true);
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package utopia.inception.handling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import utopia.inception.util.SimpleHandled;
+
+public class RateLimitedHandlerTest
+{
+	@Test
+	public void handledsAreHandledOncePerInterval() throws InterruptedException
+	{
+		TestRateLimitedHandler handler = new TestRateLimitedHandler(0, 50);
+		for (int i = 0; i < 3; i++)
+		{
+			handler.add(new SimpleHandled());
+		}
+		
+		handler.handleObjects(true);
+		assertEquals(3, handler.handled.size());
+		handler.handleObjects(true);
+		assertEquals(3, handler.handled.size());
+		
+		Thread.sleep(70);
+		handler.handleObjects(true);
+		assertEquals(6, handler.handled.size());
+	}
+	
+	@Test
+	public void tickBudgetLimitsTheHandledsOfASingleCall()
+	{
+		TestRateLimitedHandler handler = new TestRateLimitedHandler(2, 10000);
+		for (int i = 0; i < 5; i++)
+		{
+			handler.add(new SimpleHandled());
+		}
+		
+		handler.handleObjects(true);
+		assertEquals(2, handler.handled.size());
+		handler.handleObjects(true);
+		assertEquals(4, handler.handled.size());
+		handler.handleObjects(true);
+		assertEquals(5, handler.handled.size());
+		
+		// Each of the handleds is handled only once
+		handler.handleObjects(true);
+		assertEquals(5, handler.handled.size());
+	}
+	
+	@Test
+	public void removedHandledIsNotHandled()
+	{
+		TestRateLimitedHandler handler = new TestRateLimitedHandler(0, 0);
+		SimpleHandled kept = new SimpleHandled();
+		SimpleHandled removed = new SimpleHandled();
+		handler.add(kept);
+		handler.add(removed);
+		handler.handleObjects(true);
+		
+		handler.removeHandled(removed);
+		handler.handled.clear();
+		handler.handleObjects(true);
+		handler.handleObjects(true);
+		
+		assertEquals(2, handler.handled.size());
+		assertEquals(kept, handler.handled.get(0));
+		assertEquals(kept, handler.handled.get(1));
+	}
+	
+	@Test
+	public void cancelledSlotsDoNotPileUp()
+	{
+		TestRateLimitedHandler handler = new TestRateLimitedHandler(0, 10000);
+		SimpleHandled kept = new SimpleHandled();
+		handler.add(kept);
+		handler.handleObjects(true);
+		
+		// The removed handleds wouldn't be reached before their interval has passed
+		for (int i = 0; i < 100; i++)
+		{
+			SimpleHandled churned = new SimpleHandled();
+			handler.add(churned);
+			handler.handleObjects(true);
+			handler.removeHandled(churned);
+			handler.handleObjects(true);
+		}
+		
+		assertEquals(1, handler.getHandledNumber());
+		assertTrue(handler.getQueueSize() <= 2 * handler.getHandledNumber() + 1);
+	}
+	
+	@Test
+	public void dyingHandlerForgetsItsHandleds()
+	{
+		TestRateLimitedHandler handler = new TestRateLimitedHandler(0, 0);
+		handler.add(new SimpleHandled());
+		handler.handleObjects(true);
+		
+		handler.getIsDeadStateOperator().setState(true);
+		handler.handled.clear();
+		handler.handleObjects(false);
+		
+		assertEquals(0, handler.handled.size());
+		assertEquals(0, handler.getHandledNumber());
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class TestRateLimitedHandler extends RateLimitedHandler<Handled>
+	{
+		private final List<Handled> handled = new ArrayList<>();
+		private final long interval;
+		
+		public TestRateLimitedHandler(int tickBudget, long interval)
+		{
+			super(tickBudget);
+			this.interval = interval;
+		}
+		
+		@Override
+		public HandlerType getHandlerType()
+		{
+			return TestHandlerType.TEST;
+		}
+		
+		@Override
+		protected long getMinInterval(Handled h)
+		{
+			return this.interval;
+		}
+		
+		@Override
+		protected boolean handleObject(Handled h)
+		{
+			this.handled.add(h);
+			return true;
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package utopia.inception.handling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A handler that records the objects it handles
+ */
+class TestHandler extends Handler<Handled>
+{
+	final List<Handled> handled = new ArrayList<>();
+	
+	public TestHandler(boolean threadConfined)
+	{
+		super(threadConfined);
+	}
+	
+	@Override
+	public HandlerType getHandlerType()
+	{
+		return TestHandlerType.TEST;
+	}
+	
+	@Override
+	protected boolean handleObject(Handled h)
+	{
+		this.handled.add(h);
+		return true;
+	}
+}
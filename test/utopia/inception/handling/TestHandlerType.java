@@ -0,0 +1,15 @@
+package utopia.inception.handling;
+
+/**
+ * HandlerTypes used in the handling tests
+ */
+enum TestHandlerType implements HandlerType
+{
+	TEST, OTHER;
+	
+	@Override
+	public Class<?> getSupportedHandledClass()
+	{
+		return Handled.class;
+	}
+}
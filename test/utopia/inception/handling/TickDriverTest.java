@@ -0,0 +1,166 @@
+package utopia.inception.handling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import utopia.inception.handling.TickDriver.TickStatistics;
+import utopia.inception.util.SimpleHandled;
+
+public class TickDriverTest
+{
+	@Test
+	public void handlersAreHandledAtTheirOwnFrequencies() throws InterruptedException
+	{
+		TestHandler fast = new TestHandler(false);
+		TestHandler slow = new TestHandler(false)
+		{
+			@Override
+			public HandlerType getHandlerType()
+			{
+				return TestHandlerType.OTHER;
+			}
+		};
+		fast.add(new SimpleHandled());
+		slow.add(new SimpleHandled());
+		
+		TickDriver driver = new TickDriver(new HandlerRelay(fast, slow), 500);
+		driver.setFrequency(TestHandlerType.OTHER, 50);
+		runFor(driver, 300);
+		
+		TickStatistics fastStatistics = driver.getStatistics(TestHandlerType.TEST);
+		TickStatistics slowStatistics = driver.getStatistics(TestHandlerType.OTHER);
+		assertEquals(fastStatistics.getTickAmount(), fast.handled.size());
+		assertEquals(slowStatistics.getTickAmount(), slow.handled.size());
+		
+		// The rates are only checked loosely, since the test may be run on a busy machine
+		assertTrue(slowStatistics.getTickAmount() > 0);
+		assertTrue(fastStatistics.getTickAmount() > slowStatistics.getTickAmount() * 3);
+		assertTrue(fastStatistics.getTickAmount() <= 500 * 300 / 1000 + 10);
+	}
+	
+	@Test
+	public void disabledHandlersKeepTheirSchedule() throws InterruptedException
+	{
+		TestHandler handler = new TestHandler(false);
+		handler.add(new SimpleHandled());
+		HandlerRelay relay = new HandlerRelay(handler);
+		relay.setHandlingState(TestHandlerType.TEST, false);
+		
+		TickDriver driver = new TickDriver(relay, 200);
+		runFor(driver, 100);
+		
+		assertTrue(handler.handled.isEmpty());
+		assertTrue(driver.getStatistics(TestHandlerType.TEST).getTickAmount() > 0);
+	}
+	
+	@Test
+	public void ticksBeyondTheCatchUpLimitAreSkipped() throws InterruptedException
+	{
+		// The handler takes much longer than a single tick
+		TestHandler handler = new TestHandler(false)
+		{
+			@Override
+			protected boolean handleObject(Handled h)
+			{
+				try
+				{
+					Thread.sleep(30);
+				}
+				catch (InterruptedException e)
+				{
+					// Ignored
+				}
+				return super.handleObject(h);
+			}
+		};
+		handler.add(new SimpleHandled());
+		
+		TickDriver driver = new TickDriver(new HandlerRelay(handler), 1000);
+		driver.setMaxCatchUpTicks(2);
+		runFor(driver, 200);
+		
+		TickStatistics statistics = driver.getStatistics(TestHandlerType.TEST);
+		assertTrue(statistics.getSkippedTickAmount() > 0);
+		assertTrue(statistics.getMaxLag() > 0);
+	}
+	
+	@Test
+	public void catchUpLimitCantBeNegative()
+	{
+		TickDriver driver = new TickDriver(new HandlerRelay(), 60);
+		assertEquals(5, driver.getMaxCatchUpTicks());
+		driver.setMaxCatchUpTicks(-3);
+		assertEquals(0, driver.getMaxCatchUpTicks());
+	}
+	
+	@Test
+	public void invalidFrequenciesAreRejected()
+	{
+		TickDriver driver = new TickDriver(new HandlerRelay(), 60);
+		double[] frequencies = {0, -1, Double.NaN, Double.POSITIVE_INFINITY};
+		for (double frequency : frequencies)
+		{
+			try
+			{
+				driver.setFrequency(TestHandlerType.TEST, frequency);
+				fail("Frequency " + frequency + " was accepted");
+			}
+			catch (IllegalArgumentException e)
+			{
+				// Expected
+			}
+		}
+	}
+	
+	@Test
+	public void driverStoppedBeforeRunDoesNotRun()
+	{
+		TestHandler handler = new TestHandler(false);
+		handler.add(new SimpleHandled());
+		TickDriver driver = new TickDriver(new HandlerRelay(handler), 500);
+		
+		driver.stop();
+		driver.run();
+		assertTrue(handler.handled.isEmpty());
+		assertFalse(driver.isRunning());
+	}
+	
+	@Test
+	public void failedRunIsNoLongerRunning()
+	{
+		TestHandler handler = new TestHandler(false)
+		{
+			@Override
+			protected boolean handleObject(Handled h)
+			{
+				throw new IllegalStateException("Expected test failure");
+			}
+		};
+		handler.add(new SimpleHandled());
+		TickDriver driver = new TickDriver(new HandlerRelay(handler), 500);
+		
+		try
+		{
+			driver.run();
+			fail("The failure wasn't passed on");
+		}
+		catch (IllegalStateException e)
+		{
+			// Expected
+		}
+		assertFalse(driver.isRunning());
+	}
+	
+	private static void runFor(TickDriver driver, long millis) throws InterruptedException
+	{
+		Thread thread = new Thread(driver);
+		thread.start();
+		Thread.sleep(millis);
+		driver.stop();
+		thread.join();
+	}
+}
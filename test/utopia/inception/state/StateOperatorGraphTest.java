@@ -0,0 +1,121 @@
+package utopia.inception.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import utopia.inception.util.SimpleHandled;
+
+public class StateOperatorGraphTest
+{
+	@Test
+	public void dependentsFollowTheirSources()
+	{
+		StateOperator a = new StateOperator(false, true);
+		StateOperator b = new StateOperator(true, true);
+		GraphStateOperator and = GraphStateOperator.createAndOperator();
+		StateOperatorGraph graph = new StateOperatorGraph();
+		graph.addDependency(a, and);
+		graph.addDependency(b, and);
+		
+		assertFalse(and.getState());
+		a.setState(true);
+		assertTrue(and.getState());
+		b.setState(false);
+		assertFalse(and.getState());
+	}
+	
+	@Test
+	public void diamondIsUpdatedWithoutGlitches()
+	{
+		// top -> left, right -> bottom, where bottom is true only if left and right differ
+		StateOperator top = new StateOperator(false, true);
+		GraphStateOperator left = GraphStateOperator.createOrOperator();
+		GraphStateOperator right = GraphStateOperator.createOrOperator();
+		GraphStateOperator bottom = new GraphStateOperator()
+		{
+			@Override
+			protected boolean defineStateFrom(List<StateOperator> sources)
+			{
+				return sources.size() == 2 && 
+						sources.get(0).getState() != sources.get(1).getState();
+			}
+		};
+		StateOperatorGraph graph = new StateOperatorGraph();
+		graph.addDependency(top, left);
+		graph.addDependency(top, right);
+		graph.addDependency(left, bottom);
+		graph.addDependency(right, bottom);
+		
+		RecordingListener listener = new RecordingListener();
+		bottom.addListener(listener);
+		top.setState(true);
+		top.setState(false);
+		
+		assertTrue(listener.states.isEmpty());
+		assertFalse(bottom.getState());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void cyclesAreRejected()
+	{
+		GraphStateOperator a = GraphStateOperator.createOrOperator();
+		GraphStateOperator b = GraphStateOperator.createOrOperator();
+		StateOperatorGraph graph = new StateOperatorGraph();
+		graph.addDependency(a, b);
+		graph.addDependency(b, a);
+	}
+	
+	@Test
+	public void removedDependencyIsNoLongerUpdated()
+	{
+		StateOperator source = new StateOperator(false, true);
+		GraphStateOperator or = GraphStateOperator.createOrOperator();
+		StateOperatorGraph graph = new StateOperatorGraph();
+		graph.addDependency(source, or);
+		graph.removeDependency(source, or);
+		
+		assertFalse(graph.contains(source));
+		source.setState(true);
+		assertFalse(or.getState());
+	}
+	
+	@Test
+	public void listenersAreInformedOncePerChange()
+	{
+		StateOperator source = new StateOperator(false, true);
+		GraphStateOperator first = GraphStateOperator.createOrOperator();
+		GraphStateOperator second = GraphStateOperator.createAndOperator();
+		StateOperatorGraph graph = new StateOperatorGraph();
+		graph.addDependency(source, first);
+		graph.addDependency(first, second);
+		graph.addDependency(source, second);
+		
+		RecordingListener listener = new RecordingListener();
+		second.addListener(listener);
+		source.setState(true);
+		
+		assertEquals(1, listener.states.size());
+		assertTrue(listener.states.get(0));
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class RecordingListener extends SimpleHandled implements 
+			StateOperatorListener
+	{
+		private List<Boolean> states = new ArrayList<>();
+		
+		@Override
+		public void onStateChange(StateOperator source, boolean newState)
+		{
+			this.states.add(newState);
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package utopia.inception.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.Test;
+
+import utopia.inception.util.SimpleHandled;
+
+public class StateOperatorListenerHandlerTest
+{
+	@Test
+	public void listenersAreInformed()
+	{
+		StateOperatorListenerHandler handler = new StateOperatorListenerHandler();
+		CountingListener strong = new CountingListener();
+		CountingListener weak = new CountingListener();
+		handler.add(strong);
+		handler.addWeakly(weak);
+		
+		handler.onStateChange(null, true);
+		assertEquals(1, strong.changes);
+		assertEquals(1, weak.changes);
+	}
+	
+	@Test
+	public void weakListenerIsRemovedWithTheOriginalReference()
+	{
+		StateOperatorListenerHandler handler = new StateOperatorListenerHandler();
+		CountingListener strong = new CountingListener();
+		CountingListener weak = new CountingListener();
+		handler.add(strong);
+		handler.addWeakly(weak);
+		handler.onStateChange(null, true);
+		
+		handler.removeHandled(weak);
+		handler.removeHandled(strong);
+		handler.onStateChange(null, false);
+		
+		assertEquals(1, strong.changes);
+		assertEquals(1, weak.changes);
+		assertTrue(handler.isEmpty());
+	}
+	
+	@Test
+	public void collectedListenersAreRemovedWithoutStateChanges()
+	{
+		StateOperatorListenerHandler handler = new StateOperatorListenerHandler();
+		CountingListener collected = new CountingListener();
+		WeakReference<CountingListener> probe = new WeakReference<>(collected);
+		handler.addWeakly(collected);
+		collected = null;
+		
+		for (int i = 0; i < 10 && probe.get() != null; i++)
+		{
+			System.gc();
+		}
+		// The test can't be made if the garbage collector didn't cooperate
+		if (probe.get() != null)
+			return;
+		
+		CountingListener kept = new CountingListener();
+		handler.addWeakly(kept);
+		handler.addWeakly(new CountingListener());
+		
+		assertTrue(handler.containsHandled(new WeakStateOperatorListener(kept)));
+		assertEquals(2, handler.getHandledNumber());
+	}
+	
+	@Test
+	public void changesDuringInformingApplyFromTheNextChange()
+	{
+		// The operators keep their listeners inline and in a handler respectively
+		for (int extraAmount : new int[] {0, 4})
+		{
+			final StateOperator operator = new StateOperator(false, true);
+			final CountingListener second = new CountingListener();
+			final CountingListener late = new CountingListener();
+			CountingListener first = new CountingListener()
+			{
+				@Override
+				public void onStateChange(StateOperator source, boolean newState)
+				{
+					super.onStateChange(source, newState);
+					if (newState)
+					{
+						operator.removeListener(second);
+						operator.addListener(late);
+					}
+				}
+			};
+			operator.addListener(first);
+			operator.addListener(second);
+			for (int i = 0; i < extraAmount; i++)
+			{
+				operator.addListener(new CountingListener());
+			}
+			
+			operator.setState(true);
+			assertEquals(1, second.changes);
+			assertEquals(0, late.changes);
+			
+			operator.setState(false);
+			assertEquals(2, first.changes);
+			assertEquals(1, second.changes);
+			assertEquals(1, late.changes);
+		}
+	}
+	
+	@Test
+	public void operatorKeepsListenersInlineAndInHandler()
+	{
+		StateOperator operator = new StateOperator(false, true);
+		CountingListener[] listeners = new CountingListener[5];
+		for (int i = 0; i < listeners.length; i++)
+		{
+			listeners[i] = new CountingListener();
+			operator.addListener(listeners[i]);
+		}
+		
+		operator.setState(true);
+		operator.removeListener(listeners[0]);
+		operator.setState(false);
+		
+		assertEquals(1, listeners[0].changes);
+		for (int i = 1; i < listeners.length; i++)
+		{
+			assertEquals(2, listeners[i].changes);
+		}
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class CountingListener extends SimpleHandled implements 
+			StateOperatorListener
+	{
+		private int changes = 0;
+		
+		@Override
+		public void onStateChange(StateOperator source, boolean newState)
+		{
+			this.changes ++;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package utopia.inception.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import utopia.inception.util.SimpleHandled;
+
+public class WeightedStateOperatorTest
+{
+	@Test
+	public void stateFollowsTheCombinedWeight()
+	{
+		StateOperator a = new StateOperator(false, true);
+		StateOperator b = new StateOperator(false, true);
+		WeightedStateOperator operator = new WeightedStateOperator(3);
+		operator.addConditionOperator(a, 2);
+		operator.addConditionOperator(b, 1);
+		
+		assertFalse(operator.getState());
+		a.setState(true);
+		assertFalse(operator.getState());
+		b.setState(true);
+		assertTrue(operator.getState());
+		assertEquals(3, operator.getTrueWeight(), 0);
+		
+		operator.removeConditionOperator(a);
+		assertFalse(operator.getState());
+		assertEquals(1, operator.getTrueWeight(), 0);
+	}
+	
+	@Test
+	public void listenersAreInformedWhenTheThresholdIsCrossed()
+	{
+		StateOperator a = new StateOperator(false, true);
+		StateOperator b = new StateOperator(false, true);
+		ThresholdStateOperator operator = new ThresholdStateOperator(1, a, b);
+		CountingListener listener = new CountingListener();
+		operator.addListener(listener);
+		
+		a.setState(true);
+		b.setState(true);
+		a.setState(false);
+		assertEquals(1, listener.changes);
+		b.setState(false);
+		assertEquals(2, listener.changes);
+		assertFalse(listener.lastState);
+	}
+	
+	@Test
+	public void fractionalWeightsDontDrift()
+	{
+		StateOperator base = new StateOperator(true, true);
+		StateOperator toggled = new StateOperator(false, true);
+		WeightedStateOperator operator = new WeightedStateOperator(0.7);
+		operator.addConditionOperator(base, 0.7);
+		operator.addConditionOperator(toggled, 0.1);
+		
+		for (int i = 0; i < 10000; i++)
+		{
+			toggled.setState(true);
+			toggled.setState(false);
+		}
+		
+		assertTrue(operator.getState());
+		assertEquals(0.7, operator.getTrueWeight(), WeightedStateOperator.WEIGHT_PRECISION);
+	}
+	
+	@Test
+	public void readdedConditionIsStillListened()
+	{
+		// The extra listeners move the condition's listeners to a handler
+		StateOperator condition = new StateOperator(false, true);
+		for (int i = 0; i < 3; i++)
+		{
+			condition.addListener(new CountingListener());
+		}
+		ThresholdStateOperator operator = new ThresholdStateOperator(1, condition);
+		condition.setState(true);
+		condition.setState(false);
+		
+		operator.removeConditionOperator(condition);
+		operator.addConditionOperator(condition);
+		condition.setState(true);
+		
+		assertTrue(operator.getState());
+		assertEquals(1, operator.getTrueAmount());
+	}
+	
+	@Test
+	public void manyConditionsAreCounted()
+	{
+		ThresholdStateOperator operator = new ThresholdStateOperator(5000);
+		StateOperator[] conditions = new StateOperator[10000];
+		for (int i = 0; i < conditions.length; i++)
+		{
+			conditions[i] = new StateOperator(i % 2 == 0, true);
+			operator.addConditionOperator(conditions[i]);
+		}
+		
+		assertEquals(5000, operator.getTrueAmount());
+		assertTrue(operator.getState());
+		conditions[0].setState(false);
+		assertFalse(operator.getState());
+		
+		for (StateOperator condition : conditions)
+		{
+			operator.removeConditionOperator(condition);
+		}
+		assertEquals(0, operator.getTrueAmount());
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static class CountingListener extends SimpleHandled implements 
+			StateOperatorListener
+	{
+		private int changes = 0;
+		private boolean lastState;
+		
+		@Override
+		public void onStateChange(StateOperator source, boolean newState)
+		{
+			this.changes ++;
+			this.lastState = newState;
+		}
+	}
+}
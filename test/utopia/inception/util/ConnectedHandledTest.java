@@ -0,0 +1,49 @@
+package utopia.inception.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import utopia.inception.handling.HandlingStateOperatorRelay;
+import utopia.inception.handling.InceptionHandlerType;
+
+public class ConnectedHandledTest
+{
+	@Test
+	public void connectedHandledDiesWithMaster()
+	{
+		SimpleHandled master = new SimpleHandled();
+		ConnectedHandled<SimpleHandled> connected = new ConnectedHandled<>(master);
+		
+		assertFalse(connected.getIsDeadStateOperator().getState());
+		master.getIsDeadStateOperator().setState(true);
+		assertTrue(connected.getIsDeadStateOperator().getState());
+	}
+	
+	@Test
+	public void weaklyDependentConnectedHandledDiesWithMaster()
+	{
+		SimpleHandled master = new SimpleHandled();
+		ConnectedHandled<SimpleHandled> connected = new ConnectedHandled<>(master, true);
+		
+		master.getIsDeadStateOperator().setState(true);
+		assertTrue(connected.getIsDeadStateOperator().getState());
+	}
+	
+	@Test
+	public void dependentHandlingOperatorFollowsMaster()
+	{
+		SimpleHandled master = new SimpleHandled();
+		HandlingStateOperatorRelay strong = new HandlingStateOperatorRelay();
+		HandlingStateOperatorRelay weak = new HandlingStateOperatorRelay();
+		strong.makeDependent(master, InceptionHandlerType.EVENTLISTENER);
+		weak.makeDependent(master, InceptionHandlerType.EVENTLISTENER, true);
+		
+		master.getHandlingOperators().getShouldBeHandledOperator(
+				InceptionHandlerType.EVENTLISTENER).setState(false);
+		
+		assertFalse(strong.getShouldBeHandledOperator(InceptionHandlerType.EVENTLISTENER).getState());
+		assertFalse(weak.getShouldBeHandledOperator(InceptionHandlerType.EVENTLISTENER).getState());
+	}
+}
@@ -0,0 +1,148 @@
+package utopia.inception.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import utopia.inception.handling.Handled;
+import utopia.inception.handling.HandlerType;
+
+public class ScheduledHandlerTest
+{
+	@Test
+	public void handledIsHandledAtTheScheduledTick()
+	{
+		TestScheduledHandler handler = new TestScheduledHandler();
+		SimpleHandled h = new SimpleHandled();
+		handler.schedule(h, 3);
+		
+		tick(handler, 2);
+		assertTrue(handler.handled.isEmpty());
+		tick(handler, 1);
+		assertEquals(1, handler.handled.size());
+		assertFalse(handler.isScheduled(h));
+		
+		tick(handler, 10);
+		assertEquals(1, handler.handled.size());
+	}
+	
+	@Test
+	public void repeatingScheduleKeepsRunning()
+	{
+		TestScheduledHandler handler = new TestScheduledHandler();
+		SimpleHandled h = new SimpleHandled();
+		handler.scheduleRepeating(h, 1, 2);
+		
+		tick(handler, 9);
+		assertEquals(5, handler.handled.size());
+		assertTrue(handler.isScheduled(h));
+	}
+	
+	@Test
+	public void removingAllHandledsCancelsTheirSchedules()
+	{
+		TestScheduledHandler handler = new TestScheduledHandler();
+		SimpleHandled handled = new SimpleHandled();
+		handler.scheduleRepeating(handled, 1, 1);
+		tick(handler, 1);
+		
+		// This handled is still waiting to be added when the handleds are removed
+		SimpleHandled waiting = new SimpleHandled();
+		handler.schedule(waiting, 1);
+		
+		handler.removeAllHandleds();
+		assertEquals(0, handler.getScheduledAmount());
+		
+		tick(handler, 5);
+		assertEquals(1, handler.handled.size());
+	}
+	
+	@Test
+	public void dyingHandlerCancelsTheSchedules()
+	{
+		TestScheduledHandler handler = new TestScheduledHandler();
+		handler.scheduleRepeating(new SimpleHandled(), 1, 1);
+		tick(handler, 1);
+		handler.schedule(new SimpleHandled(), 1);
+		
+		handler.getIsDeadStateOperator().setState(true);
+		assertEquals(0, handler.getScheduledAmount());
+		assertEquals(0, handler.getHandledNumber());
+	}
+	
+	@Test
+	public void concurrentTicksHandleEachActivationOnce() throws InterruptedException
+	{
+		final TestScheduledHandler handler = new TestScheduledHandler();
+		for (int i = 0; i < 20; i++)
+		{
+			handler.scheduleRepeating(new SimpleHandled(), 1, 1);
+		}
+		
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++)
+		{
+			threads[i] = new Thread()
+			{
+				@Override
+				public void run()
+				{
+					tick(handler, 500);
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+		
+		// Each tick handles every handled exactly once
+		assertEquals(20 * 500 * threads.length, handler.handled.size());
+	}
+	
+	private static void tick(TestScheduledHandler handler, int ticks)
+	{
+		for (int i = 0; i < ticks; i++)
+		{
+			handler.handleObjects(true);
+		}
+	}
+	
+	
+	// SUBCLASSES	---------------------------------
+	
+	private static enum TestHandlerType implements HandlerType
+	{
+		TEST;
+		
+		@Override
+		public Class<?> getSupportedHandledClass()
+		{
+			return Handled.class;
+		}
+	}
+	
+	private static class TestScheduledHandler extends ScheduledHandler<Handled>
+	{
+		private final List<Handled> handled = new ArrayList<>();
+		
+		@Override
+		public HandlerType getHandlerType()
+		{
+			return TestHandlerType.TEST;
+		}
+		
+		@Override
+		protected boolean handleObject(Handled h)
+		{
+			this.handled.add(h);
+			return true;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package utopia.inception.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TimingWheelTest
+{
+	@Test
+	public void objectsAreActivatedAtTheirTicks()
+	{
+		TimingWheel<Long> wheel = new TimingWheel<>();
+		long[] delays = {1, 5, 63, 64, 65, 4095, 4096, 4099, 300000};
+		for (long delay : delays)
+		{
+			wheel.schedule(delay, delay);
+		}
+		assertEquals(delays.length, wheel.size());
+		
+		List<Long> activated = new ArrayList<>();
+		for (int tick = 1; tick <= 300000; tick++)
+		{
+			wheel.advance(activated);
+			for (Long delay : activated)
+			{
+				assertEquals(tick, (long) delay);
+			}
+			activated.clear();
+		}
+		assertEquals(0, wheel.size());
+	}
+	
+	@Test
+	public void cancelledObjectIsNotActivated()
+	{
+		TimingWheel<String> wheel = new TimingWheel<>();
+		TimingWheel.Entry<String> cancelled = wheel.schedule("cancelled", 100);
+		wheel.schedule("kept", 100);
+		
+		assertTrue(wheel.cancel(cancelled));
+		assertFalse(wheel.cancel(cancelled));
+		assertFalse(cancelled.isScheduled());
+		assertEquals(1, wheel.size());
+		
+		List<String> activated = advance(wheel, 100);
+		assertEquals(1, activated.size());
+		assertEquals("kept", activated.get(0));
+	}
+	
+	@Test
+	public void nonPositiveDelayMeansTheNextTick()
+	{
+		TimingWheel<String> wheel = new TimingWheel<>();
+		wheel.schedule("zero", 0);
+		wheel.schedule("negative", -10);
+		
+		assertEquals(2, advance(wheel, 1).size());
+	}
+	
+	@Test
+	public void hugeDelayDoesNotOverflow()
+	{
+		TimingWheel<String> wheel = new TimingWheel<>();
+		advance(wheel, 1);
+		TimingWheel.Entry<String> entry = wheel.schedule("never", Long.MAX_VALUE);
+		
+		assertEquals(Long.MAX_VALUE, entry.getDueTick());
+		assertTrue(advance(wheel, 5000).isEmpty());
+		assertTrue(entry.isScheduled());
+	}
+	
+	private static List<String> advance(TimingWheel<String> wheel, int ticks)
+	{
+		List<String> activated = new ArrayList<>();
+		for (int i = 0; i < ticks; i++)
+		{
+			wheel.advance(activated);
+		}
+		return activated;
+	}
+}